@@ -0,0 +1,126 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the trade list page over HTTP with {@value #USERS} concurrent users, for several connection pool
+ * sizes. The list request executor lets up to {@value #ASYNC_THREADS} list queries run at once, so a smaller pool
+ * makes them queue for a connection. {@link #acquire} borrows connections alongside the users, so its sample
+ * times are the wait for a connection under that load. Run with -tg to change the number of users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConnectionPoolBenchmark {
+    private static final int USERS = 63;
+    private static final int ASYNC_THREADS = 32;
+    private static final int TRADES = 500;
+
+    @Param({"2", "8", "32"})
+    public int poolSize;
+
+    private ConfigurableApplicationContext context;
+    private DataSource dataSource;
+    private URL listUrl;
+
+    @State(Scope.Thread)
+    public static class Client {
+        private final byte[] buffer = new byte[16 * 1024];
+        // Reusing the session skips authentication after the first request
+        private String sessionCookie;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(Application.class)
+                .run("--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--server.port=0",
+                        "--app.web.async.list-pool-size=" + ASYNC_THREADS,
+                        "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                        "--spring.datasource.hikari.minimum-idle=" + poolSize,
+                        "--spring.datasource.hikari.connection-timeout=30000",
+                        "--app.security.bcrypt-strength=4");
+        User user = new User();
+        user.setUsername("bench");
+        user.setPassword(context.getBean(PasswordEncoder.class).encode("secret"));
+        user.setFullname("Bench");
+        user.setRole("USER");
+        context.getBean(UserRepository.class).save(user);
+
+        List<Trade> trades = new ArrayList<>();
+        for (int i = 0; i < TRADES; i++) {
+            Trade trade = new Trade("Account " + i, "Type");
+            trade.setBuyQuantity((double) i);
+            trades.add(trade);
+        }
+        context.getBean(TradeRepository.class).saveAll(trades);
+        dataSource = context.getBean(DataSource.class);
+        listUrl = new URL("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + "/trade/list");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("load")
+    @GroupThreads(USERS)
+    public int listTrades(Client client) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) listUrl.openConnection();
+        if (client.sessionCookie != null) {
+            connection.setRequestProperty("Cookie", client.sessionCookie);
+        } else {
+            connection.setRequestProperty("Authorization", "Basic "
+                    + Base64.getEncoder().encodeToString("bench:secret".getBytes(StandardCharsets.UTF_8)));
+        }
+        int status = connection.getResponseCode();
+        if (status != HttpURLConnection.HTTP_OK) {
+            throw new IllegalStateException("GET " + listUrl + " returned " + status);
+        }
+        String setCookie = connection.getHeaderField("Set-Cookie");
+        if (setCookie != null) {
+            client.sessionCookie = setCookie.split(";", 2)[0];
+        }
+        int length = 0;
+        try (InputStream in = connection.getInputStream()) {
+            int read;
+            while ((read = in.read(client.buffer)) != -1) {
+                length += read;
+            }
+        }
+        return length;
+    }
+
+    @Benchmark
+    @Group("load")
+    @GroupThreads(1)
+    public void acquire() throws SQLException {
+        dataSource.getConnection().close();
+    }
+}
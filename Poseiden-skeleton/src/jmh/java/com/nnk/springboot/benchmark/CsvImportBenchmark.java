@@ -0,0 +1,76 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.services.CsvImportService;
+import com.nnk.springboot.services.ImportReport;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second imported by {@link CsvImportService} into the embedded H2 database,
+ * for several JDBC batch sizes (1 disables batching).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CsvImportBenchmark {
+    private static final int ROWS = 50_000;
+
+    @Param({"1", "50", "500"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private CsvImportService csvImportService;
+    private JdbcTemplate jdbcTemplate;
+    private byte[] bidFile;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        csvImportService = context.getBean(CsvImportService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        StringBuilder csv = new StringBuilder("account,type,bidQuantity,askQuantity,bid,ask,benchmark,bidListDate,security,status,trader,book\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append("Account ").append(i % 100).append(",Type,").append(i).append(',').append(i + 1)
+                    .append(",10.5,10.75,\"Benchmark, 10Y\",2019-03-09 11:26:00,SEC").append(i % 1000)
+                    .append(",OPEN,Trader ").append(i % 20).append(",Book ").append(i % 10).append('\n');
+        }
+        bidFile = csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Invocation)
+    public void truncate() {
+        jdbcTemplate.execute("delete from bidlist");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ImportReport importBids() throws IOException {
+        ImportReport report = csvImportService.importBids("bench.csv", new ByteArrayInputStream(bidFile));
+        if (report.getRowsImported() != ROWS) {
+            throw new IllegalStateException("Imported " + report.getRowsImported() + " rows");
+        }
+        return report;
+    }
+}
@@ -0,0 +1,111 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.CurveSnapshotRow;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.services.CurveSnapshotFile;
+import com.nnk.springboot.services.CurveSnapshotService;
+import com.nnk.springboot.services.YieldCurve;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A backtest pass over a year of daily snapshots of one curve: every snapshot is interpolated at a few
+ * terms, reading the points from the database through JPA or from the mapped snapshot file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CurveSnapshotBenchmark {
+    private static final int CURVE_ID = 1;
+    private static final int DAYS = 250;
+    private static final int TERMS = 40;
+    private static final double[] PROBES = {0.25, 2.5, 7.5, 15, 29.9};
+
+    private ConfigurableApplicationContext context;
+    private CurvePointRepository curvePointRepository;
+    private CurveSnapshotService curveSnapshotService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--app.curves.snapshot-dir=target/snapshots");
+        curvePointRepository = context.getBean(CurvePointRepository.class);
+        curveSnapshotService = context.getBean(CurveSnapshotService.class);
+        context.getBean(JdbcTemplate.class).execute("delete from curvepoint");
+
+        List<CurvePoint> points = new ArrayList<>();
+        long start = Timestamp.valueOf("2019-01-01 00:00:00").getTime();
+        for (int day = 0; day < DAYS; day++) {
+            for (int term = 0; term < TERMS; term++) {
+                CurvePoint point = new CurvePoint(CURVE_ID, 0.25 * (term + 1) * (term + 1) / 8, 1 + 0.01 * day + 0.05 * term);
+                point.setAsOfDate(new Timestamp(start + TimeUnit.DAYS.toMillis(day)));
+                points.add(point);
+            }
+        }
+        curvePointRepository.saveAll(points);
+        curveSnapshotService.export(CURVE_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.getBean(JdbcTemplate.class).execute("delete from curvepoint");
+        context.close();
+    }
+
+    @Benchmark
+    public double jpa() {
+        double sum = 0;
+        List<CurveSnapshotRow> points = curvePointRepository.findSnapshotPoints(CURVE_ID);
+        int from = 0;
+        while (from < points.size()) {
+            Date asOfDate = points.get(from).getAsOfDate();
+            int to = from;
+            while (to < points.size() && points.get(to).getAsOfDate().equals(asOfDate)) {
+                to++;
+            }
+            double[] terms = new double[to - from];
+            double[] values = new double[to - from];
+            for (int i = from; i < to; i++) {
+                terms[i - from] = points.get(i).getTerm();
+                values[i - from] = points.get(i).getValue();
+            }
+            YieldCurve curve = new YieldCurve(CURVE_ID, terms, values);
+            for (double probe : PROBES) {
+                sum += curve.linear(probe);
+            }
+            from = to;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double mapped() throws IOException {
+        double sum = 0;
+        CurveSnapshotFile snapshots = CurveSnapshotFile.open(Paths.get("target/snapshots", "curve-" + CURVE_ID + ".snap"));
+        for (int i = 0; i < snapshots.size(); i++) {
+            for (double probe : PROBES) {
+                sum += snapshots.linear(i, probe);
+            }
+        }
+        return sum;
+    }
+}
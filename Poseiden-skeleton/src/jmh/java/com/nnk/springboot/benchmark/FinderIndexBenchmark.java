@@ -0,0 +1,100 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.repositories.BidListRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the BidListRepository finders on a large bidlist table in the embedded H2 database, with the
+ * indexes of the V2 migration and with them dropped. Use -p rows=3000000 for a few-million-row table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FinderIndexBenchmark {
+    private static final int ACCOUNTS = 1000;
+    private static final int BOOKS = 50;
+    private static final int INSERT_BATCH = 10_000;
+    private static final long START = Timestamp.valueOf("2019-01-01 00:00:00").getTime();
+    private static final long STEP = TimeUnit.SECONDS.toMillis(30);
+    private static final String[] INDEXES = {"idx_bidlist_account_date", "idx_bidlist_book_date",
+            "idx_bidlist_trader_date", "idx_bidlist_status_date", "idx_bidlist_date"};
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private BidListRepository bidListRepository;
+    private final Pageable firstPage = PageRequest.of(0, 50, Sort.by("bidListDate"));
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+        bidListRepository = context.getBean(BidListRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{-1 - i, "Account " + i % ACCOUNTS, "Book " + i % BOOKS,
+                    "Trader " + i % 20, i % 10 == 0 ? "CLOSED" : "OPEN", new Timestamp(START + i * STEP)});
+            if (batch.size() == INSERT_BATCH || i == rows - 1) {
+                jdbcTemplate.batchUpdate("insert into bidlist (BidListId, account, type, book, trader, status, bidListDate)"
+                        + " values (?, ?, 'Type', ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        if (!indexed) {
+            for (String index : INDEXES) {
+                jdbcTemplate.execute("drop index " + index);
+            }
+        }
+        jdbcTemplate.execute("analyze");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BidList> byAccount() {
+        return bidListRepository.findByAccount("Account " + ThreadLocalRandom.current().nextInt(ACCOUNTS), firstPage);
+    }
+
+    @Benchmark
+    public List<BidList> byBookAndDay() {
+        Timestamp from = new Timestamp(START + ThreadLocalRandom.current().nextLong(rows - 3000L) * STEP);
+        Timestamp to = new Timestamp(from.getTime() + TimeUnit.DAYS.toMillis(1));
+        return bidListRepository.findByBookAndBidListDateBetween(
+                "Book " + ThreadLocalRandom.current().nextInt(BOOKS), from, to, firstPage);
+    }
+
+    @Benchmark
+    public List<BidList> byHour() {
+        Timestamp from = new Timestamp(START + ThreadLocalRandom.current().nextLong(rows - 200L) * STEP);
+        return bidListRepository.findByBidListDateBetween(from, new Timestamp(from.getTime() + TimeUnit.HOURS.toMillis(1)),
+                firstPage);
+    }
+}
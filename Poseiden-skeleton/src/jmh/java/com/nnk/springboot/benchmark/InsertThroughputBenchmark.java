@@ -0,0 +1,95 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Rows per second inserted with saveAll, {@value #ROWS} new entities per transaction, on the embedded H2
+ * database. Measures what the id generator costs on top of the JDBC insert batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(3)
+public class InsertThroughputBenchmark {
+    private static final int ROWS = 1000;
+
+    @Param({"bidList", "trade", "user"})
+    public String entity;
+
+    private ConfigurableApplicationContext context;
+    private JpaRepository<Object, ?> repository;
+    private IntFunction<Object> factory;
+    private JdbcTemplate jdbcTemplate;
+    private String table;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        switch (entity) {
+            case "bidList":
+                repository = (JpaRepository) context.getBean(BidListRepository.class);
+                factory = i -> new BidList("Account " + i, "Type", (double) i);
+                table = "bidlist";
+                break;
+            case "trade":
+                repository = (JpaRepository) context.getBean(TradeRepository.class);
+                factory = i -> new Trade("Account " + i, "Type");
+                table = "trade";
+                break;
+            default:
+                repository = (JpaRepository) context.getBean(UserRepository.class);
+                factory = i -> {
+                    User user = new User();
+                    user.setUsername("user" + i);
+                    user.setPassword("password");
+                    user.setFullname("User " + i);
+                    user.setRole("USER");
+                    return user;
+                };
+                table = "users";
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("delete from " + table);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Object> saveAll() {
+        List<Object> entities = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            entities.add(factory.apply(i));
+        }
+        return repository.saveAll(entities);
+    }
+}
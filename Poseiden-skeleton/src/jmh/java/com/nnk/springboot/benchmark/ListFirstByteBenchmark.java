@@ -0,0 +1,130 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Curve point list over HTTP with {@value #POINTS} rows, with the rows read in batches while the table renders
+ * (app.web.list-streaming) and read at once before it: {@link #lastByte} times whole pages, {@link #firstByte} the
+ * wait for the first bytes. The page is always read to the end, as an abandoned page would keep the server rendering
+ * in the background; after {@link #firstByte} that happens in an untimed per-invocation tear-down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ListFirstByteBenchmark {
+    private static final int POINTS = 20000;
+
+    @Param({"true", "false"})
+    public boolean streaming;
+
+    private ConfigurableApplicationContext context;
+    private URL listUrl;
+    private String sessionCookie;
+    private final byte[] buffer = new byte[16 * 1024];
+
+    @State(Scope.Thread)
+    public static class OpenPage {
+        private final byte[] buffer = new byte[16 * 1024];
+        private InputStream in;
+
+        @TearDown(Level.Invocation)
+        public void drain() throws IOException {
+            if (in == null) {
+                return;
+            }
+            try (InputStream page = in) {
+                in = null;
+                while (page.read(buffer) != -1) {
+                    // read the rest of the page
+                }
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(Application.class)
+                .run("--logging.level.root=WARN",
+                        "--server.port=0",
+                        "--app.web.list-streaming.enabled=" + streaming,
+                        "--app.security.bcrypt-strength=4");
+        User user = new User();
+        user.setUsername("bench");
+        user.setPassword(context.getBean(PasswordEncoder.class).encode("secret"));
+        user.setFullname("Bench");
+        user.setRole("USER");
+        context.getBean(UserRepository.class).save(user);
+
+        List<CurvePoint> points = new ArrayList<>();
+        for (int i = 0; i < POINTS; i++) {
+            points.add(new CurvePoint(i % 10, (double) i, i * 0.01));
+        }
+        context.getBean(CurvePointRepository.class).saveAll(points);
+        listUrl = new URL("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + "/curvePoint/list");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int lastByte() throws IOException {
+        int length = 0;
+        try (InputStream in = open().getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                length += read;
+            }
+        }
+        return length;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public int firstByte(OpenPage page) throws IOException {
+        page.in = open().getInputStream();
+        return page.in.read(page.buffer);
+    }
+
+    private HttpURLConnection open() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) listUrl.openConnection();
+        if (sessionCookie != null) {
+            connection.setRequestProperty("Cookie", sessionCookie);
+        } else {
+            connection.setRequestProperty("Authorization", "Basic "
+                    + Base64.getEncoder().encodeToString("bench:secret".getBytes(StandardCharsets.UTF_8)));
+        }
+        int status = connection.getResponseCode();
+        if (status != HttpURLConnection.HTTP_OK) {
+            throw new IllegalStateException("GET " + listUrl + " returned " + status);
+        }
+        String setCookie = connection.getHeaderField("Set-Cookie");
+        if (setCookie != null) {
+            sessionCookie = setCookie.split(";", 2)[0];
+        }
+        return connection;
+    }
+}
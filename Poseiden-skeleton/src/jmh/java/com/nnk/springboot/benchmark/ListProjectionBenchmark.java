@@ -0,0 +1,72 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.BidListRow;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.services.CsvImportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One bid list page of the largest size, read as full entities or as the four displayed columns. Run with
+ * {@code -prof gc}: gc.alloc.rate.norm is the heap allocated per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ListProjectionBenchmark {
+    private static final int ROWS = 20_000;
+    private static final Pageable PAGE = PageRequest.of(0, 500, Sort.by(Sort.Direction.DESC, "bidListId"));
+
+    private ConfigurableApplicationContext context;
+    private BidListRepository bidListRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+        bidListRepository = context.getBean(BidListRepository.class);
+
+        StringBuilder csv = new StringBuilder("account,type,bidQuantity,askQuantity,bid,ask,benchmark,bidListDate,commentary,security,status,trader,book\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append("Account ").append(i % 100).append(",Type,").append(i).append(',').append(i + 1)
+                    .append(",10.5,10.75,\"Benchmark, 10Y\",2019-03-09 11:26:00,Rolled from the previous book,SEC")
+                    .append(i % 1000).append(",OPEN,Trader ").append(i % 20).append(",Book ").append(i % 10).append('\n');
+        }
+        context.getBean(CsvImportService.class)
+                .importBids("bench.csv", new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.getBean(JdbcTemplate.class).execute("delete from bidlist");
+        context.close();
+    }
+
+    @Benchmark
+    public Slice<BidList> entities() {
+        return bidListRepository.findSlice(null, PAGE);
+    }
+
+    @Benchmark
+    public Slice<BidListRow> rows() {
+        return bidListRepository.findListRows(null, PAGE);
+    }
+}
@@ -0,0 +1,83 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.repositories.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.cache.NullUserCache;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent login throughput through the authentication provider, with and without the user cache,
+ * for a cheap and the default BCrypt strength. Run with -t to change the number of concurrent users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(8)
+public class LoginBenchmark {
+    private static final int USERS = 100;
+
+    @Param({"4", "10"})
+    public int bcryptStrength;
+
+    @Param({"true", "false"})
+    public boolean userCache;
+
+    private ConfigurableApplicationContext context;
+    private DaoAuthenticationProvider authenticationProvider;
+
+    @State(Scope.Thread)
+    public static class Client {
+        private int next;
+
+        String username() {
+            next = (next + 1) % USERS;
+            return "user" + next;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false",
+                        "--app.security.bcrypt-strength=" + bcryptStrength);
+        authenticationProvider = context.getBean(DaoAuthenticationProvider.class);
+        if (!userCache) {
+            authenticationProvider.setUserCache(new NullUserCache());
+        }
+        PasswordEncoder passwordEncoder = context.getBean(PasswordEncoder.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        String password = passwordEncoder.encode("secret");
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setUsername("user" + i);
+            user.setPassword(password);
+            user.setFullname("User " + i);
+            user.setRole("USER");
+            userRepository.save(user);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Authentication login(Client client) {
+        return authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(client.username(), "secret"));
+    }
+}
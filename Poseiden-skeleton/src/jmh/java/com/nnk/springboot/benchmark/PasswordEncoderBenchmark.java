@@ -0,0 +1,40 @@
+package com.nnk.springboot.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of hashing a password the way UserController does on create and update, and of checking it at login,
+ * per BCrypt strength.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+    @Param({"4", "10", "12"})
+    public int strength;
+
+    private BCryptPasswordEncoder passwordEncoder;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder(strength);
+        hash = passwordEncoder.encode("Passw0rd!");
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode("Passw0rd!");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("Passw0rd!", hash);
+    }
+}
@@ -0,0 +1,79 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.services.BidPricingService;
+import com.nnk.springboot.services.CsvImportService;
+import com.nnk.springboot.services.PricingReport;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bids per second marked by {@link BidPricingService} in the embedded H2 database, for several fork-join
+ * pool sizes, to show how the end-of-day run scales with cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PricingBenchmark {
+    private static final int BIDS = 200_000;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private ConfigurableApplicationContext context;
+    private BidPricingService bidPricingService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--app.pricing.threads=" + threads);
+        bidPricingService = context.getBean(BidPricingService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        CurvePointRepository curvePointRepository = context.getBean(CurvePointRepository.class);
+        for (int term = 1; term <= 30; term++) {
+            curvePointRepository.save(new CurvePoint(1, (double) term, 1 + Math.log(term)));
+        }
+        StringBuilder csv = new StringBuilder("account,type,bidQuantity,bid,ask,benchmark,status\n");
+        for (int i = 0; i < BIDS; i++) {
+            csv.append("Account ").append(i % 100).append(",Type,").append(i % 1000)
+                    .append(",2.5,2.6,\"UST, ").append(i % 30 + 1).append("Y\",OPEN\n");
+        }
+        context.getBean(CsvImportService.class)
+                .importBids("bench.csv", new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("delete from bidlist");
+        jdbcTemplate.execute("delete from curvepoint");
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BIDS)
+    public PricingReport price() {
+        PricingReport report = bidPricingService.price();
+        if (report.getBidsPriced() != BIDS) {
+            throw new IllegalStateException("Priced " + report.getBidsPriced() + " bids");
+        }
+        return report;
+    }
+}
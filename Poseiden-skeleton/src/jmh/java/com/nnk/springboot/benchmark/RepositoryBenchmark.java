@@ -0,0 +1,99 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.repositories.RatingRepository;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Save and find-by-id latency through each of the five entity repositories on the embedded H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RepositoryBenchmark {
+    private static final int ROWS = 10_000;
+
+    @Param({"bidList", "trade", "curvePoint", "rating", "ruleName"})
+    public String entity;
+
+    private ConfigurableApplicationContext context;
+    private JpaRepository<Object, Long> repository;
+    private IntFunction<Object> factory;
+    private final List<Long> ids = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+        Function<Object, Long> idOf;
+        switch (entity) {
+            case "bidList":
+                repository = (JpaRepository) context.getBean(BidListRepository.class);
+                factory = i -> new BidList("Account " + i, "Type " + i, (double) i);
+                idOf = bid -> ((BidList) bid).getBidListId();
+                break;
+            case "trade":
+                repository = (JpaRepository) context.getBean(TradeRepository.class);
+                factory = i -> new Trade("Account " + i, "Type " + i);
+                idOf = trade -> ((Trade) trade).getTradeId();
+                break;
+            case "curvePoint":
+                repository = (JpaRepository) context.getBean(CurvePointRepository.class);
+                factory = i -> new CurvePoint(i % 10, (double) i, i * 0.01);
+                idOf = point -> ((CurvePoint) point).getId();
+                break;
+            case "rating":
+                repository = (JpaRepository) context.getBean(RatingRepository.class);
+                factory = i -> new Rating("Moodys " + i, "S&P " + i, "Fitch " + i, i);
+                idOf = rating -> ((Rating) rating).getId();
+                break;
+            default:
+                repository = (JpaRepository) context.getBean(RuleNameRepository.class);
+                factory = i -> new RuleName("Rule " + i, "Description", "{}", "Template", "select 1", "account = 'A'");
+                idOf = rule -> ((RuleName) rule).getId();
+        }
+        for (int i = 0; i < ROWS; i++) {
+            ids.add(idOf.apply(repository.save(factory.apply(i))));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object save() {
+        return repository.save(factory.apply(ThreadLocalRandom.current().nextInt(ROWS)));
+    }
+
+    @Benchmark
+    public Object findById() {
+        return repository.findById(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+}
@@ -0,0 +1,82 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.services.RuleEngine;
+import com.nnk.springboot.services.RuleExpression;
+import com.nnk.springboot.services.RuleNameService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rule evaluations per second for {@value #RULES} stored rules against a batch of {@value #TRADES} trades,
+ * through the compiled {@link RuleEngine} and, as a baseline, by parsing each rule's sqlPart on every evaluation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RuleEngineBenchmark {
+    private static final int RULES = 1_000;
+    private static final int TRADES = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private RuleEngine ruleEngine;
+    private final List<String> sources = new ArrayList<>();
+    private final List<Trade> trades = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+        ruleEngine = context.getBean(RuleEngine.class);
+        RuleNameService ruleNameService = context.getBean(RuleNameService.class);
+        for (int i = 0; i < RULES; i++) {
+            String source = "buyQuantity > " + (i % 100) + " AND (status IN ('OPEN', 'NEW') OR account LIKE 'Account " + (i % 10)
+                    + "%') AND NOT book = 'Book " + (i % 7) + "'";
+            sources.add(source);
+            ruleNameService.save(new RuleName("Rule " + i, "", "", "", "", source));
+        }
+        for (int i = 0; i < TRADES; i++) {
+            Trade trade = new Trade("Account " + (i % 50), "Type");
+            trade.setBuyQuantity((double) (i % 200));
+            trade.setStatus(i % 3 == 0 ? "OPEN" : "CLOSED");
+            trade.setBook("Book " + (i % 5));
+            trades.add(trade);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RULES * TRADES)
+    public void compiled(Blackhole blackhole) {
+        for (Trade trade : trades) {
+            blackhole.consume(ruleEngine.matchingRuleIds(trade));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RULES * TRADES)
+    public void interpreted(Blackhole blackhole) {
+        for (Trade trade : trades) {
+            for (String source : sources) {
+                blackhole.consume(RuleExpression.parse(source).bind(Trade.class).test(trade));
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold boot of the whole web application on the embedded H2 database: every measurement is the first start in a
+ * fresh JVM, from the Flyway migrations to a listening Tomcat. Compares Hibernate only validating the migrated
+ * schema with the former ddl-auto=update, which reads the database metadata of every table and diffs it, and the
+ * default profile with the lazy one (LazyStartupConfig), whose start ends before its background warm-up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupBenchmark {
+    @Param({"validate", "update"})
+    public String ddlAuto;
+
+    @Param({"default", "lazy"})
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext boot() {
+        context = new SpringApplicationBuilder(Application.class)
+                .run("--logging.level.root=WARN",
+                        "--spring.profiles.active=" + profile,
+                        "--server.port=0",
+                        "--spring.jpa.hibernate.ddl-auto=" + ddlAuto);
+        return context;
+    }
+}
@@ -0,0 +1,128 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.services.KeysetPage;
+import com.nnk.springboot.services.ListFilter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering time of each list page template with {@value #ROWS} rows, using the application's template engine
+ * (template cache on, as in production), with and without the SpEL compiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TemplateRenderBenchmark {
+    private static final int ROWS = 50;
+
+    @Param({"bidList", "trade", "curvePoint", "rating", "ruleName", "user"})
+    public String page;
+
+    @Param({"true", "false"})
+    public boolean spelCompiler;
+
+    private ConfigurableApplicationContext context;
+    private SpringTemplateEngine templateEngine;
+    private WebContext webContext;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false", "--logging.level.root=WARN", "--spring.thymeleaf.cache=true",
+                        "--spring.thymeleaf.enable-spring-el-compiler=" + spelCompiler);
+        templateEngine = context.getBean(SpringTemplateEngine.class);
+
+        MockServletContext servletContext = new MockServletContext();
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", "/" + page + "/list");
+        request.setRemoteUser("user");
+        webContext = new WebContext(request, new MockHttpServletResponse(), servletContext, Locale.ENGLISH);
+
+        List<BidList> bids = new ArrayList<>();
+        List<Trade> trades = new ArrayList<>();
+        List<CurvePoint> curvePoints = new ArrayList<>();
+        List<Rating> ratings = new ArrayList<>();
+        List<RuleName> ruleNames = new ArrayList<>();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            BidList bid = new BidList("Account " + i, "Type", 10d + i);
+            bid.setBidListId((long) i);
+            bids.add(bid);
+            Trade trade = new Trade("Account " + i, "Type");
+            trade.setTradeId((long) i);
+            trade.setBuyQuantity(10d + i);
+            trades.add(trade);
+            CurvePoint curvePoint = new CurvePoint(i % 5, (double) i, i * 0.01);
+            curvePoint.setId((long) i);
+            curvePoints.add(curvePoint);
+            Rating rating = new Rating("Moodys " + i, "S&P " + i, "Fitch " + i, i);
+            rating.setId((long) i);
+            ratings.add(rating);
+            RuleName ruleName = new RuleName("Rule " + i, "Description", "{}", "Template", "select 1", "account = 'A'");
+            ruleName.setId((long) i);
+            ruleNames.add(ruleName);
+            User user = new User();
+            user.setId((long) i);
+            user.setUsername("user" + i);
+            user.setFullname("User " + i);
+            user.setRole("USER");
+            users.add(user);
+        }
+        String nextToken = "MTA";
+        webContext.setVariable("filter", new ListFilter());
+        switch (page) {
+            case "bidList":
+                webContext.setVariable("page", new KeysetPage<>(bids, ROWS, nextToken));
+                break;
+            case "trade":
+                webContext.setVariable("page", new KeysetPage<>(trades, ROWS, nextToken));
+                break;
+            case "curvePoint":
+                webContext.setVariable("curvePoints", curvePoints);
+                break;
+            case "rating":
+                webContext.setVariable("ratings", ratings);
+                break;
+            case "ruleName":
+                webContext.setVariable("ruleNames", ruleNames);
+                break;
+            default:
+                webContext.setVariable("users", users);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String render() {
+        StringWriter writer = new StringWriter(16384);
+        templateEngine.process(page + "/list", webContext, writer);
+        return writer.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package com.nnk.springboot.benchmark;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the bid list page over HTTP with many concurrent users, in thread-per-request mode and with the
+ * list queries offloaded to the list request executor (see RequestOffloader). Tomcat is limited to
+ * {@value #TOMCAT_THREADS} threads so the two modes differ in how many requests can wait on the database at once.
+ * Run with -t to change the number of concurrent users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(64)
+public class WebConcurrencyBenchmark {
+    private static final int TOMCAT_THREADS = 16;
+    private static final int BIDS = 500;
+
+    @Param({"false", "true"})
+    public boolean asyncRequests;
+
+    private ConfigurableApplicationContext context;
+    private URL listUrl;
+
+    @State(Scope.Thread)
+    public static class Client {
+        private final byte[] buffer = new byte[16 * 1024];
+        // Reusing the session skips authentication after the first request
+        private String sessionCookie;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(Application.class)
+                .run("--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--server.port=0",
+                        "--server.tomcat.max-threads=" + TOMCAT_THREADS,
+                        "--app.web.async.enabled=" + asyncRequests,
+                        "--app.security.bcrypt-strength=4");
+        User user = new User();
+        user.setUsername("bench");
+        user.setPassword(context.getBean(PasswordEncoder.class).encode("secret"));
+        user.setFullname("Bench");
+        user.setRole("USER");
+        context.getBean(UserRepository.class).save(user);
+
+        List<BidList> bids = new ArrayList<>();
+        for (int i = 0; i < BIDS; i++) {
+            BidList bid = new BidList("Account " + i, "Type", (double) i);
+            bid.setBook("Book " + i % 10);
+            bids.add(bid);
+        }
+        context.getBean(BidListRepository.class).saveAll(bids);
+        listUrl = new URL("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + "/bidList/list");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int listBids(Client client) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) listUrl.openConnection();
+        if (client.sessionCookie != null) {
+            connection.setRequestProperty("Cookie", client.sessionCookie);
+        } else {
+            connection.setRequestProperty("Authorization", "Basic "
+                    + Base64.getEncoder().encodeToString("bench:secret".getBytes(StandardCharsets.UTF_8)));
+        }
+        int status = connection.getResponseCode();
+        if (status != HttpURLConnection.HTTP_OK) {
+            throw new IllegalStateException("GET " + listUrl + " returned " + status);
+        }
+        String setCookie = connection.getHeaderField("Set-Cookie");
+        if (setCookie != null) {
+            client.sessionCookie = setCookie.split(";", 2)[0];
+        }
+        int length = 0;
+        try (InputStream in = connection.getInputStream()) {
+            int read;
+            while ((read = in.read(client.buffer)) != -1) {
+                length += read;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,57 @@
+package com.nnk.springboot.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Executors for asynchronous request handling, replacing Spring MVC's default of one new thread per async request:
+ * <ul>
+ * <li>{@code mvcTaskExecutor} streams the exports, which may hold a thread for many minutes;</li>
+ * <li>{@code listTaskExecutor} runs the list pages offloaded by {@link RequestOffloader}, so that running exports
+ * cannot starve them. Its queue is small: a list page waiting behind many others is answered 503 rather than late.</li>
+ * </ul>
+ * Both pools are fixed-size, as a {@link java.util.concurrent.ThreadPoolExecutor} only grows past its core size once
+ * its queue is full; idle threads still time out. On a JDK with virtual threads these executors are the single place
+ * to switch to one virtual thread per task.
+ */
+@Configuration
+public class AsyncWebConfig implements WebMvcConfigurer {
+    @Value("${app.web.async.export-pool-size:16}")
+    private int exportPoolSize;
+    @Value("${app.web.async.export-queue-capacity:100}")
+    private int exportQueueCapacity;
+    @Value("${app.web.async.list-pool-size:16}")
+    private int listPoolSize;
+    @Value("${app.web.async.list-queue-capacity:100}")
+    private int listQueueCapacity;
+
+    @Bean
+    public AsyncTaskExecutor mvcTaskExecutor() {
+        return fixedPool("mvc-async-", exportPoolSize, exportQueueCapacity);
+    }
+
+    @Bean
+    public AsyncTaskExecutor listTaskExecutor() {
+        return fixedPool("list-async-", listPoolSize, listQueueCapacity);
+    }
+
+    private static ThreadPoolTaskExecutor fixedPool(String threadNamePrefix, int poolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setQueueCapacity(queueCapacity);
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcTaskExecutor());
+    }
+}
@@ -0,0 +1,111 @@
+package com.nnk.springboot.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * With {@code app.startup.timing-report=true}, times the creation of every bean from instantiation to the end of
+ * its initialization and logs the slowest ones once the application is ready. A bean's self time excludes the
+ * dependencies created while it was being created, its total time includes them. Beans created lazily after
+ * startup, and the post-processors registered before this one, are not reported.
+ */
+@Component
+@ConditionalOnProperty(name = "app.startup.timing-report", havingValue = "true")
+public class BeanTimingReport implements InstantiationAwareBeanPostProcessor, PriorityOrdered,
+        ApplicationListener<ApplicationReadyEvent> {
+    private static final Logger logger = LoggerFactory.getLogger(BeanTimingReport.class);
+    private static final int REPORTED_BEANS = 20;
+
+    private final ThreadLocal<Deque<Creation>> creations = ThreadLocal.withInitial(ArrayDeque::new);
+    private final Queue<Creation> created = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
+        creations.get().push(new Creation(beanName));
+        return null;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Deque<Creation> stack = creations.get();
+        // FactoryBean products and failed creations have no matching entry on top of the stack
+        if (stack.isEmpty() || !stack.peek().beanName.equals(beanName)) {
+            return bean;
+        }
+        Creation creation = stack.pop();
+        creation.totalNanos = System.nanoTime() - creation.started;
+        if (!stack.isEmpty()) {
+            stack.peek().dependencyNanos += creation.totalNanos;
+        }
+        created.add(creation);
+        return bean;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        List<Creation> report = new ArrayList<>(created);
+        long selfNanos = 0;
+        for (Creation creation : report) {
+            selfNanos += creation.selfNanos();
+        }
+        report.sort(Comparator.comparingLong(Creation::selfNanos).reversed());
+        StringBuilder message = new StringBuilder("Created ").append(report.size()).append(" beans in ")
+                .append(TimeUnit.NANOSECONDS.toMillis(selfNanos)).append(" ms, slowest (self / total ms):");
+        Iterator<Creation> slowest = report.iterator();
+        for (int i = 0; i < REPORTED_BEANS && slowest.hasNext(); i++) {
+            Creation creation = slowest.next();
+            message.append(String.format("%n%8d %8d  %s", TimeUnit.NANOSECONDS.toMillis(creation.selfNanos()),
+                    TimeUnit.NANOSECONDS.toMillis(creation.totalNanos), creation.beanName));
+        }
+        logger.info(message.toString());
+    }
+
+    public List<Creation> getCreated() {
+        return new ArrayList<>(created);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    public static final class Creation {
+        private final String beanName;
+        private final long started = System.nanoTime();
+        private long totalNanos;
+        private long dependencyNanos;
+
+        private Creation(String beanName) {
+            this.beanName = beanName;
+        }
+
+        public String getBeanName() {
+            return beanName;
+        }
+
+        public long selfNanos() {
+            return totalNanos - dependencyNanos;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.nnk.springboot.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the Spring Cache abstraction. Caches, bounds and TTL are declared with the spring.cache.*
+ * properties; their hit/miss/eviction counters are published under the "cache.*" actuator metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,54 @@
+package com.nnk.springboot.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.hibernate.cache.jcache.JCacheRegionFactory;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.UpdateTimestampsCache;
+
+import javax.cache.Cache;
+import java.util.Locale;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JCache region factory that bounds each second-level cache region with Caffeine. Regions are sized from
+ * the Hibernate properties (spring.jpa.properties.*):
+ * <pre>
+ * app.cache.region.&lt;region&gt;.maximum_size         entries kept before eviction
+ * app.cache.region.&lt;region&gt;.expire_after_write   seconds an entry lives
+ * </pre>
+ * where {@code <region>} is the lower-cased last segment of the region name ({@code bidlist}, {@code trade},
+ * {@code standardquerycache}...) or {@code default}. The update timestamps region only takes explicit settings:
+ * evicting from it would let the query cache serve stale results.
+ */
+public class CaffeineRegionFactory extends JCacheRegionFactory {
+    private static final String PREFIX = "app.cache.region.";
+    private static final String DEFAULT = "default";
+
+    @Override
+    protected Cache<Object, Object> createCache(String regionName, Properties properties, CacheDataDescription metadata) {
+        String region = regionName.substring(regionName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        boolean timestamps = regionName.endsWith(UpdateTimestampsCache.REGION_NAME);
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStatisticsEnabled(true);
+        Long maximumSize = setting(properties, region, "maximum_size", timestamps);
+        if (maximumSize != null) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        }
+        Long expireAfterWrite = setting(properties, region, "expire_after_write", timestamps);
+        if (expireAfterWrite != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(expireAfterWrite)));
+        }
+        return getCacheManager().createCache(regionName, configuration);
+    }
+
+    private static Long setting(Properties properties, String region, String name, boolean explicitOnly) {
+        String value = properties.getProperty(PREFIX + region + "." + name);
+        if (value == null && !explicitOnly) {
+            value = properties.getProperty(PREFIX + DEFAULT + "." + name);
+        }
+        return value == null ? null : Long.valueOf(value.trim());
+    }
+}
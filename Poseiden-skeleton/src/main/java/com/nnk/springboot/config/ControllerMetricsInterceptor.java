@@ -0,0 +1,76 @@
+package com.nnk.springboot.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits each controller request into the time spent in the handler method ({@code app.controller.handle})
+ * and the time spent rendering its view ({@code app.view.render}). Requests that fail in the handler are
+ * recorded as handler time with the exception tag set. For asynchronous handlers the handler time runs until the
+ * result is dispatched back, including the wait for an executor thread.
+ */
+public class ControllerMetricsInterceptor extends HandlerInterceptorAdapter {
+    private static final String STARTED = ControllerMetricsInterceptor.class.getName() + ".started";
+    private static final String HANDLED = ControllerMetricsInterceptor.class.getName() + ".handled";
+
+    private final MeterRegistry meterRegistry;
+
+    public ControllerMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Keep the start of the original dispatch when an async request is dispatched again
+        if (handler instanceof HandlerMethod && request.getAttribute(STARTED) == null) {
+            request.setAttribute(STARTED, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        Long started = (Long) request.getAttribute(STARTED);
+        if (started == null) {
+            return;
+        }
+        long handled = System.nanoTime();
+        timer("app.controller.handle", (HandlerMethod) handler, "none").record(handled - started, TimeUnit.NANOSECONDS);
+        if (modelAndView != null && modelAndView.hasView()) {
+            request.setAttribute(HANDLED, handled);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Long started = (Long) request.getAttribute(STARTED);
+        if (started == null) {
+            return;
+        }
+        Long handled = (Long) request.getAttribute(HANDLED);
+        String exception = ex == null ? "none" : ex.getClass().getSimpleName();
+        long now = System.nanoTime();
+        if (handled != null) {
+            timer("app.view.render", (HandlerMethod) handler, exception).record(now - handled, TimeUnit.NANOSECONDS);
+        } else if (ex != null) {
+            timer("app.controller.handle", (HandlerMethod) handler, exception).record(now - started, TimeUnit.NANOSECONDS);
+        }
+        request.removeAttribute(STARTED);
+        request.removeAttribute(HANDLED);
+    }
+
+    private Timer timer(String name, HandlerMethod handler, String exception) {
+        return Timer.builder(name)
+                .tag("controller", handler.getBeanType().getSimpleName())
+                .tag("method", handler.getMethod().getName())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,63 @@
+package com.nnk.springboot.config;
+
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Version counter of each entity type behind a conditional list page. The controllers bump it after every write
+ * has been committed and its caches evicted, and the list pages derive a strong ETag and Last-Modified from it:
+ * a browser revalidating an unchanged page gets a 304 before any repository or template work.
+ * <p>
+ * Counters live in memory. The boot time is part of the tag, so tags handed out before a restart never match;
+ * with several instances a tag only matches on the instance that issued it. The page also shows the user and
+ * carries the session's CSRF token, so both are hashed into the tag.
+ */
+@Component
+public class EntityVersions {
+    private final long bootTime = System.currentTimeMillis();
+    private final ConcurrentMap<Class<?>, Version> versions = new ConcurrentHashMap<>();
+
+    public void bump(Class<?> type) {
+        versions.compute(type, (key, version) ->
+                new Version(version == null ? 1 : version.counter + 1, System.currentTimeMillis()));
+    }
+
+    public long current(Class<?> type) {
+        return version(type).counter;
+    }
+
+    /**
+     * Sets the validators of the page listing {@code type} and tells whether the request already holds them, in
+     * which case the 304 is written and the handler must return without rendering.
+     */
+    public boolean checkNotModified(Class<?> type, ServletWebRequest request) {
+        Version version = version(type);
+        CsrfToken csrfToken = (CsrfToken) request.getRequest().getAttribute(CsrfToken.class.getName());
+        int viewer = Objects.hash(request.getRemoteUser(), csrfToken == null ? null : csrfToken.getToken());
+        String etag = "\"" + type.getSimpleName().toLowerCase() + "-" + Long.toHexString(bootTime) + "-"
+                + version.counter + "-" + Integer.toHexString(viewer) + "\"";
+        // Browsers keep the page but revalidate it on every visit
+        request.getResponse().setHeader("Cache-Control", "private, no-cache");
+        return request.checkNotModified(etag, version.lastModified);
+    }
+
+    private Version version(Class<?> type) {
+        Version version = versions.get(type);
+        return version == null ? new Version(0, bootTime) : version;
+    }
+
+    private static final class Version {
+        private final long counter;
+        private final long lastModified;
+
+        private Version(long counter, long lastModified) {
+            this.counter = counter;
+            this.lastModified = lastModified;
+        }
+    }
+}
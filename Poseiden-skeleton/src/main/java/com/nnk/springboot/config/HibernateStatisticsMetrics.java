@@ -0,0 +1,71 @@
+package com.nnk.springboot.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jpa.HibernateMetrics;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.EntityType;
+import java.util.Collections;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the session factory statistics ({@code hibernate.*}: queries, loads, caches) and, per entity,
+ * {@code hibernate.entity.*} load/fetch/insert/update/delete counts and second-level cache hits and misses.
+ * <p>
+ * Bound once all singletons exist rather than as a MeterBinder bean: the meter registry is created early
+ * (repository aspect) and MeterBinder beans needing the entity manager factory would be skipped.
+ */
+@Component
+public class HibernateStatisticsMetrics implements SmartInitializingSingleton {
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        new HibernateMetrics(entityManagerFactory, "entityManagerFactory", Collections.emptyList()).bindTo(meterRegistry);
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        for (EntityType<?> entityType : sessionFactory.getMetamodel().getEntities()) {
+            String entityName = entityType.getJavaType().getName();
+            Tags tags = Tags.of("entity", entityType.getName());
+            entityCounter("hibernate.entity.loads", tags, statistics, entityName, EntityStatistics::getLoadCount);
+            entityCounter("hibernate.entity.fetches", tags, statistics, entityName, EntityStatistics::getFetchCount);
+            entityCounter("hibernate.entity.inserts", tags, statistics, entityName, EntityStatistics::getInsertCount);
+            entityCounter("hibernate.entity.updates", tags, statistics, entityName, EntityStatistics::getUpdateCount);
+            entityCounter("hibernate.entity.deletes", tags, statistics, entityName, EntityStatistics::getDeleteCount);
+            cacheCounter(tags.and("result", "hit"), statistics, entityName, SecondLevelCacheStatistics::getHitCount);
+            cacheCounter(tags.and("result", "miss"), statistics, entityName, SecondLevelCacheStatistics::getMissCount);
+        }
+    }
+
+    private void entityCounter(String name, Tags tags, Statistics statistics, String entityName,
+                               ToDoubleFunction<EntityStatistics> count) {
+        FunctionCounter.builder(name, statistics, s -> s.isStatisticsEnabled() ? count.applyAsDouble(s.getEntityStatistics(entityName)) : 0)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Entity regions are named after the entity class; the counters stay at 0 while the entity is not cached.
+     */
+    private void cacheCounter(Tags tags, Statistics statistics, String regionName,
+                              ToDoubleFunction<SecondLevelCacheStatistics> count) {
+        FunctionCounter.builder("hibernate.entity.cache.requests", statistics, s -> {
+            SecondLevelCacheStatistics region = s.isStatisticsEnabled() ? s.getSecondLevelCacheStatistics(regionName) : null;
+            return region == null ? 0 : count.applyAsDouble(region);
+        }).tags(tags).register(meterRegistry);
+    }
+}
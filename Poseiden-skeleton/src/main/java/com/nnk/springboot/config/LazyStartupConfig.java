@@ -0,0 +1,83 @@
+package com.nnk.springboot.config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.util.ClassUtils;
+
+/**
+ * The {@code lazy} profile, for fast starts during rolling deploys:
+ * <ul>
+ * <li>application beans are created on first use instead of at startup. Infrastructure beans and
+ * {@link SmartInitializingSingleton}s stay eager, as their callback only runs for singletons created at startup:
+ * the position rebuild and the write-behind journal replay still happen before the application is ready;</li>
+ * <li>Hibernate bootstraps on a background thread while the rest of the context starts, the entity manager
+ * blocking its first callers until it is done (what later Spring Data releases call deferred repository
+ * bootstrap);</li>
+ * <li>{@link StartupWarmup} then warms the request path and the hot queries in the background.</li>
+ * </ul>
+ */
+@Configuration
+@Profile("lazy")
+public class LazyStartupConfig {
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyInitBeanFactoryPostProcessor() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (definition.getRole() == BeanDefinition.ROLE_APPLICATION && definition.isSingleton()
+                        && !(definition instanceof AbstractBeanDefinition && ((AbstractBeanDefinition) definition).isLazyInit())
+                        && !SmartInitializingSingleton.class.isAssignableFrom(beanType(definition, beanFactory.getBeanClassLoader()))) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor backgroundJpaBootstrapPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean) {
+                    ((LocalContainerEntityManagerFactoryBean) bean).setBootstrapExecutor(
+                            new SimpleAsyncTaskExecutor("jpa-bootstrap-"));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public StartupWarmup startupWarmup() {
+        return new StartupWarmup();
+    }
+
+    /**
+     * The declared class of a scanned bean, or the return type of its factory method; {@code Object} when neither
+     * can be resolved, which leaves the bean lazy.
+     */
+    private static Class<?> beanType(BeanDefinition definition, ClassLoader classLoader) {
+        String typeName = definition.getBeanClassName();
+        if (definition instanceof AnnotatedBeanDefinition) {
+            MethodMetadata factoryMethod = ((AnnotatedBeanDefinition) definition).getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                typeName = factoryMethod.getReturnTypeName();
+            }
+        }
+        if (typeName == null || !ClassUtils.isPresent(typeName, classLoader)) {
+            return Object.class;
+        }
+        return ClassUtils.resolveClassName(typeName, classLoader);
+    }
+}
@@ -0,0 +1,31 @@
+package com.nnk.springboot.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Timing and Hibernate metrics, published on the actuator metrics and prometheus endpoints:
+ * <ul>
+ * <li>{@code app.controller.handle} and {@code app.view.render}: time spent in the controller method and in
+ * rendering its view, tagged by controller and method ({@link ControllerMetricsInterceptor});</li>
+ * <li>{@code app.repository.invocations}: repository calls tagged by entity and operation
+ * ({@link RepositoryMetricsAspect});</li>
+ * <li>{@code hibernate.*} and {@code hibernate.entity.*}: see {@link HibernateStatisticsMetrics}, which needs
+ * {@code spring.jpa.properties.hibernate.generate_statistics=true};</li>
+ * <li>{@code hikaricp.connections.*}: the connection pool's active, idle and pending gauges, bound by Spring
+ * Boot, with histograms of the time to acquire a connection and of how long it is held.</li>
+ * </ul>
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ControllerMetricsInterceptor(meterRegistry));
+    }
+}
@@ -0,0 +1,35 @@
+package com.nnk.springboot.config;
+
+import com.nnk.springboot.services.BidPricingService;
+import com.nnk.springboot.services.PricingInProgressException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Runs the end-of-day pricing on the {@code app.pricing.cron} schedule, in the {@code app.pricing.zone} time zone
+ * (the server's when blank). Off unless the cron expression is set: runs are only exclusive within an instance, so
+ * with several instances set it on one of them.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty("app.pricing.cron")
+public class PricingScheduleConfig {
+    private static final Logger logger = LoggerFactory.getLogger(PricingScheduleConfig.class);
+
+    @Autowired
+    private BidPricingService bidPricingService;
+
+    @Scheduled(cron = "${app.pricing.cron}", zone = "${app.pricing.zone:}")
+    public void endOfDayPricing() {
+        try {
+            bidPricingService.price();
+        } catch (PricingInProgressException e) {
+            logger.warn("Skipped the scheduled pricing run, the previous one is still going");
+        }
+    }
+}
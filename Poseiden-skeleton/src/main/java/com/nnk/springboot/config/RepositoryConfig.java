@@ -0,0 +1,15 @@
+package com.nnk.springboot.config;
+
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.FilterableRepositoryImpl;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Repositories get {@link FilterableRepositoryImpl} as base class, so the list screens can page through
+ * {@link org.springframework.data.jpa.domain.Specification} matches without count queries.
+ */
+@Configuration
+@EnableJpaRepositories(basePackageClasses = BidListRepository.class, repositoryBaseClass = FilterableRepositoryImpl.class)
+public class RepositoryConfig {
+}
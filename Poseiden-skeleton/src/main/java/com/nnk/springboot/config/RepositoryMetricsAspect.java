@@ -0,0 +1,60 @@
+package com.nnk.springboot.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every repository call as {@code app.repository.invocations}, tagged by the managed entity and the
+ * repository method. Methods returning a stream are timed up to the moment the stream is returned.
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<Class<?>, String> entityNames = new ConcurrentHashMap<>();
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String entity = entityNames.computeIfAbsent(joinPoint.getThis().getClass(), RepositoryMetricsAspect::entityName);
+        String exception = "none";
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Timer.builder("app.repository.invocations")
+                    .tag("entity", entity)
+                    .tag("operation", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String entityName(Class<?> proxyClass) {
+        for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(proxyClass)) {
+            if (Repository.class.isAssignableFrom(type) && type != Repository.class) {
+                Class<?>[] arguments = GenericTypeResolver.resolveTypeArguments(type, Repository.class);
+                if (arguments != null && arguments[0] != null && arguments[0] != Object.class) {
+                    return arguments[0].getSimpleName();
+                }
+            }
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,54 @@
+package com.nnk.springboot.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs the database part of a request off the servlet thread, so Tomcat threads are not held while it waits
+ * on the database: with {@code app.web.async.enabled} the work goes to the {@link AsyncWebConfig} list executor and
+ * the response is rendered once it completes. Disabled, the work runs on the servlet thread as before
+ * (thread-per-request). Compare both modes with {@code WebConcurrencyBenchmark}.
+ * <p>
+ * A request whose work is not done within {@code app.web.async.list-timeout-ms}, or that finds the executor's
+ * queue full, is answered 503.
+ * <p>
+ * The offloaded work runs outside the open-in-view entity manager and must load everything its view needs.
+ */
+@Component
+public class RequestOffloader {
+    @Autowired
+    private AsyncTaskExecutor listTaskExecutor;
+
+    @Value("${app.web.async.enabled:true}")
+    private boolean enabled;
+    @Value("${app.web.async.list-timeout-ms:10000}")
+    private long timeoutMillis;
+
+    public <T> DeferredResult<T> offload(Supplier<T> work) {
+        DeferredResult<T> result = new DeferredResult<>(timeoutMillis);
+        Runnable task = () -> {
+            try {
+                result.setResult(work.get());
+            } catch (RuntimeException e) {
+                result.setErrorResult(e);
+            }
+        };
+        if (enabled) {
+            try {
+                listTaskExecutor.execute(new DelegatingSecurityContextRunnable(task));
+            } catch (TaskRejectedException e) {
+                throw new RequestQueueFullException();
+            }
+        } else {
+            task.run();
+        }
+        return result;
+    }
+}
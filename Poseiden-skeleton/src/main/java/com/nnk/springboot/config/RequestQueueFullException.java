@@ -0,0 +1,14 @@
+package com.nnk.springboot.config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The list executor's queue is full: more list pages are waiting on the database than it can take.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Too many requests in progress, retry later")
+public class RequestQueueFullException extends RuntimeException {
+    public RequestQueueFullException() {
+        super("List request queue full");
+    }
+}
@@ -0,0 +1,104 @@
+package com.nnk.springboot.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.cache.SpringCacheBasedUserCache;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.csrf.CsrfFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.NegatedRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableWebSecurity
+public class SecurityConfig extends WebSecurityConfigurerAdapter {
+    public static final String USER_CACHE = "users";
+    /**
+     * Endpoints called by scripts with basic authentication (curl -u), which have no CSRF token to send.
+     */
+    private static final String[] API_PATHS = {"/bidList/import", "/trade/import", "/admin/**"};
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Value("${app.security.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder(bcryptStrength);
+    }
+
+    @Bean
+    public UserCache userCache() throws Exception {
+        return new SpringCacheBasedUserCache(cacheManager.getCache(USER_CACHE));
+    }
+
+    @Bean
+    public DaoAuthenticationProvider authenticationProvider() throws Exception {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder());
+        provider.setUserCache(userCache());
+        return provider;
+    }
+
+    @Override
+    protected void configure(AuthenticationManagerBuilder auth) throws Exception {
+        // Cached UserDetails are also the authenticated principals: erasing their password would
+        // invalidate the cache entry on every login
+        auth.eraseCredentials(false)
+                .authenticationProvider(authenticationProvider());
+    }
+
+    @Override
+    protected void configure(HttpSecurity http) throws Exception {
+        http.authorizeRequests()
+                .antMatchers("/", "/css/**", "/app/login", "/app/error", "/actuator/health").permitAll()
+                .antMatchers("/user/**", "/admin/**", "/actuator/**").hasRole("ADMIN")
+                .anyRequest().authenticated()
+                .and()
+                .formLogin().defaultSuccessUrl("/bidList/list")
+                .and()
+                .httpBasic()
+                .and()
+                .logout().logoutUrl("/app-logout").logoutSuccessUrl("/")
+                .and()
+                .exceptionHandling().accessDeniedPage("/app/error")
+                .and()
+                .csrf().requireCsrfProtectionMatcher(new AndRequestMatcher(CsrfFilter.DEFAULT_CSRF_MATCHER,
+                        new NegatedRequestMatcher(basicAuthenticatedApi())));
+    }
+
+    /**
+     * API calls that carry their credentials in the Authorization header. A forged cross-site request only
+     * carries the session cookie, so these still need no CSRF token; the same paths called from a logged-in
+     * browser session do.
+     */
+    private static RequestMatcher basicAuthenticatedApi() {
+        List<RequestMatcher> paths = new ArrayList<>();
+        for (String path : API_PATHS) {
+            paths.add(new AntPathRequestMatcher(path));
+        }
+        return new AndRequestMatcher(new OrRequestMatcher(paths),
+                request -> request.getHeader(HttpHeaders.AUTHORIZATION) != null);
+    }
+}
@@ -0,0 +1,218 @@
+package com.nnk.springboot.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every statement executed through the wrapped pool and logs the ones slower than the threshold, with the
+ * calling controller (or, off the request threads, the calling service). A fraction {@code sampleRate} of the faster
+ * statements is logged too, at INFO instead of WARN. Nothing is formatted for a statement that is not logged, and
+ * the logger is asynchronous (see logback-spring.xml), so the cost per statement is two clock reads and the
+ * parameter bookkeeping.
+ * <p>
+ * Bind parameters are only counted unless {@code logParameters} is set: they include password hashes and imported
+ * rows.
+ * <p>
+ * This replaces {@code spring.jpa.show-sql}, which prints every statement synchronously.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryDataSource.class);
+    private static final String APPLICATION = "com.nnk.springboot.";
+    private static final String CONTROLLERS = APPLICATION + "controllers.";
+    private static final int MAX_PARAMETER_LENGTH = 64;
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final boolean logParameters;
+
+    public SlowQueryDataSource(DataSource dataSource, long thresholdMillis, double sampleRate, boolean logParameters) {
+        super(dataSource);
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.sampleRate = sampleRate;
+        this.logParameters = logParameters;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private void executed(String sql, long nanos, Map<Integer, Object> parameters, int batchSize) {
+        boolean slow = nanos >= thresholdNanos;
+        if (slow ? !logger.isWarnEnabled()
+                : sampleRate <= 0 || !logger.isInfoEnabled() || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        StringBuilder message = new StringBuilder(slow ? "Slow query " : "Sampled query ")
+                .append(TimeUnit.NANOSECONDS.toMillis(nanos)).append(" ms at ").append(caller());
+        if (batchSize > 0) {
+            message.append(" (batch of ").append(batchSize).append(')');
+        }
+        message.append(": ").append(sql);
+        if (!parameters.isEmpty() && !logParameters) {
+            message.append(" (").append(parameters.size()).append(parameters.size() == 1 ? " parameter)" : " parameters)");
+        } else if (!parameters.isEmpty()) {
+            List<String> values = new ArrayList<>(parameters.size());
+            for (Object value : parameters.values()) {
+                values.add(format(value));
+            }
+            message.append(" ").append(values);
+        }
+        if (slow) {
+            logger.warn(message.toString());
+        } else {
+            logger.info(message.toString());
+        }
+    }
+
+    /**
+     * The first controller frame on the stack, else the first application frame outside this package.
+     */
+    static String caller() {
+        StackTraceElement application = null;
+        for (StackTraceElement frame : new Throwable().getStackTrace()) {
+            String className = frame.getClassName();
+            if (className.startsWith(CONTROLLERS)) {
+                return describe(frame);
+            }
+            if (application == null && className.startsWith(APPLICATION)
+                    && !className.startsWith(SlowQueryDataSource.class.getPackage().getName()) && !className.contains("$$")) {
+                application = frame;
+            }
+        }
+        return application == null ? "unknown" : describe(application);
+    }
+
+    private static String describe(StackTraceElement frame) {
+        String className = frame.getClassName();
+        return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName()
+                + ":" + frame.getLineNumber();
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof byte[]) {
+            return "<" + ((byte[]) value).length + " bytes>";
+        }
+        String text = value instanceof CharSequence ? "'" + value + "'" : value.toString();
+        return text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("equals".equals(name)) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(name)) {
+                return System.identityHashCode(proxy);
+            }
+            Object result = SlowQueryDataSource.invoke(connection, method, args);
+            Class<?> type = "prepareCall".equals(name) ? CallableStatement.class
+                    : "prepareStatement".equals(name) ? PreparedStatement.class
+                    : "createStatement".equals(name) ? Statement.class : null;
+            if (type == null) {
+                return result;
+            }
+            String sql = args != null && args.length > 0 ? (String) args[0] : null;
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler((Statement) result, sql, (Connection) proxy));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String sql;
+        private final Connection connection;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+        private int batchSize;
+
+        private StatementHandler(Statement statement, String sql, Connection connection) {
+            this.statement = statement;
+            this.sql = sql;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("equals".equals(name)) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(name)) {
+                return System.identityHashCode(proxy);
+            }
+            if (name.startsWith("execute")) {
+                long started = System.nanoTime();
+                try {
+                    return SlowQueryDataSource.invoke(statement, method, args);
+                } finally {
+                    long elapsed = System.nanoTime() - started;
+                    String executed = args != null && args.length > 0 && args[0] instanceof String
+                            ? (String) args[0] : sql;
+                    executed(executed, elapsed, parameters, "executeBatch".equals(name) ? batchSize : 0);
+                    if ("executeBatch".equals(name)) {
+                        batchSize = 0;
+                    }
+                }
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                parameters.put((Integer) args[0], "setNull".equals(name) ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                parameters.clear();
+            } else if ("addBatch".equals(name)) {
+                batchSize++;
+            } else if ("clearBatch".equals(name)) {
+                batchSize = 0;
+            } else if ("getConnection".equals(name)) {
+                return connection;
+            }
+            return SlowQueryDataSource.invoke(statement, method, args);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.nnk.springboot.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * SQL logging: the connection pool is wrapped in a {@link SlowQueryDataSource} configured by
+ * {@code app.sql.slow-threshold-ms}, {@code app.sql.sample-rate} and {@code app.sql.log-parameters}. Starting the prod profile with
+ * {@code spring.jpa.show-sql} fails, as it prints every statement synchronously on the request threads.
+ */
+@Configuration
+public class SqlLoggingConfig {
+
+    @Bean
+    public static BeanPostProcessor slowQueryLogPostProcessor(Environment environment) {
+        if (environment.acceptsProfiles("prod") && environment.getProperty("spring.jpa.show-sql", Boolean.class, false)) {
+            throw new IllegalStateException("spring.jpa.show-sql must be off in the prod profile, "
+                    + "use app.sql.slow-threshold-ms and app.sql.sample-rate instead");
+        }
+        long thresholdMillis = environment.getProperty("app.sql.slow-threshold-ms", Long.class, 200L);
+        double sampleRate = environment.getProperty("app.sql.sample-rate", Double.class, 0d);
+        boolean logParameters = environment.getProperty("app.sql.log-parameters", Boolean.class, false);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof SlowQueryDataSource)) {
+                    return new SlowQueryDataSource((DataSource) bean, thresholdMillis, sampleRate, logParameters);
+                }
+                return bean;
+            }
+        };
+    }
+}
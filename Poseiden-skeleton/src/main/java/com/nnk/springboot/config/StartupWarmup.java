@@ -0,0 +1,186 @@
+package com.nnk.springboot.config;
+
+import com.nnk.springboot.services.BidListService;
+import com.nnk.springboot.services.CurvePointService;
+import com.nnk.springboot.services.KeysetPage;
+import com.nnk.springboot.services.ListFilter;
+import com.nnk.springboot.services.RatingService;
+import com.nnk.springboot.services.RuleNameService;
+import com.nnk.springboot.services.TradeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Warms a lazily started application in the background once it listens (see {@link LazyStartupConfig}), so the
+ * first users do not pay for it: anonymous pages are requested over HTTP, which initializes the dispatcher
+ * servlet, the security filter chain and the Thymeleaf engine, then the list templates are rendered empty, which
+ * parses and caches them with their layout fragments, and the first page of every list is queried, which creates
+ * the services and repositories, compiles their queries and fills the reference-data caches. The services are
+ * injected as lazy proxies so that they are only created on the warm-up thread.
+ * <p>
+ * As a health indicator it reports OUT_OF_SERVICE until the warm-up is done, keeping the instance out of the load
+ * balancer meanwhile. A failed warm-up is logged and reported as done: the pages still work, only slower at first.
+ */
+public class StartupWarmup implements ApplicationRunner, HealthIndicator {
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private static final String[] PAGES = {"/", "/app/error"};
+    private static final String[] LIST_TEMPLATES = {
+            "bidList/list", "trade/list", "curvePoint/list", "rating/list", "ruleName/list", "user/list"};
+
+    @Autowired
+    private Environment environment;
+    @Autowired(required = false)
+    private ServletContext servletContext;
+    @Autowired
+    @Lazy
+    private ITemplateEngine templateEngine;
+    @Autowired
+    @Lazy
+    private BidListService bidListService;
+    @Autowired
+    @Lazy
+    private TradeService tradeService;
+    @Autowired
+    @Lazy
+    private CurvePointService curvePointService;
+    @Autowired
+    @Lazy
+    private RatingService ratingService;
+    @Autowired
+    @Lazy
+    private RuleNameService ruleNameService;
+
+    @Value("${app.pagination.default-size:50}")
+    private int pageSize;
+
+    private volatile boolean done;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Thread thread = new Thread(this::warmUp, "startup-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public Health health() {
+        return done ? Health.up().build() : Health.outOfService().build();
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    private void warmUp() {
+        long start = System.currentTimeMillis();
+        try {
+            String port = environment.getProperty("local.server.port");
+            if (port != null) {
+                for (String page : PAGES) {
+                    request(new URL("http://localhost:" + port + page));
+                }
+            }
+            if (servletContext != null) {
+                renderListTemplates();
+            }
+            bidListService.findPage(null, pageSize);
+            tradeService.findPage(null, pageSize);
+            // The curve point list streams its rows: read the first batch only
+            curvePointService.findAll(new ListFilter(), pageSize, () -> { }).iterator().hasNext();
+            ratingService.findAll();
+            ruleNameService.findAll();
+            logger.info("Warmed up in {} ms", System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Warm-up failed after {} ms", System.currentTimeMillis() - start, e);
+        } finally {
+            done = true;
+        }
+    }
+
+    private void renderListTemplates() {
+        WebContext context = new WebContext(stub(HttpServletRequest.class), stub(HttpServletResponse.class),
+                servletContext, Locale.getDefault());
+        context.setVariable("filter", new ListFilter());
+        context.setVariable("page", new KeysetPage<>(Collections.emptyList(), pageSize, null));
+        for (String rows : new String[]{"curvePoints", "ratings", "ruleNames", "users"}) {
+            context.setVariable(rows, Collections.emptyList());
+        }
+        for (String template : LIST_TEMPLATES) {
+            templateEngine.process(template, context, new StringWriter());
+        }
+    }
+
+    /**
+     * A stand-in request or response for rendering outside of a request: it keeps attributes, where the
+     * Thymeleaf web context stores its variables, has an empty context path, leaves URLs as they are and
+     * answers null, false or zero to everything else.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type) {
+        Map<String, Object> attributes = new HashMap<>();
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getAttribute":
+                    return attributes.get(args[0]);
+                case "setAttribute":
+                    attributes.put((String) args[0], args[1]);
+                    return null;
+                case "removeAttribute":
+                    attributes.remove(args[0]);
+                    return null;
+                case "getAttributeNames":
+                    return Collections.enumeration(attributes.keySet());
+                case "getContextPath":
+                    return "";
+                case "encodeURL":
+                case "encodeRedirectURL":
+                    return args[0];
+                default:
+                    if (method.getReturnType() == boolean.class) {
+                        return false;
+                    }
+                    if (method.getReturnType() == int.class) {
+                        return 0;
+                    }
+                    return method.getReturnType() == long.class ? (Object) 0L : null;
+            }
+        });
+    }
+
+    private static void request(URL url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try (InputStream in = connection.getInputStream()) {
+            byte[] buffer = new byte[8192];
+            while (in.read(buffer) != -1) {
+                // drain the page
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
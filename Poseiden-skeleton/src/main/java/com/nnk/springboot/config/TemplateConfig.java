@@ -0,0 +1,35 @@
+package com.nnk.springboot.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.thymeleaf.templateresolver.AbstractConfigurableTemplateResolver;
+
+/**
+ * Templates: the list pages share their head and navigation through {@code templates/fragments/layout.html}, and
+ * their expressions are compiled to bytecode ({@code spring.thymeleaf.enable-spring-el-compiler}). Starting the
+ * prod profile with {@code spring.thymeleaf.cache} off, or with a template resolver that does not cache, fails,
+ * as every request would then parse its template and fragments again.
+ */
+@Configuration
+public class TemplateConfig {
+
+    @Bean
+    public static BeanPostProcessor templateCacheCheck(Environment environment) {
+        boolean production = environment.acceptsProfiles("prod");
+        if (production && !environment.getProperty("spring.thymeleaf.cache", Boolean.class, true)) {
+            throw new IllegalStateException("spring.thymeleaf.cache must be on in the prod profile");
+        }
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (production && bean instanceof AbstractConfigurableTemplateResolver
+                        && !((AbstractConfigurableTemplateResolver) bean).isCacheable()) {
+                    throw new IllegalStateException("Template resolver " + beanName + " must cache in the prod profile");
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,26 +1,47 @@
 package com.nnk.springboot.controllers;
 
+import com.nnk.springboot.config.RequestOffloader;
 import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.services.CsvImportService;
+import com.nnk.springboot.services.ImportReport;
+import com.nnk.springboot.services.ListFilter;
+import com.nnk.springboot.services.BidListService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.multipart.MultipartFile;
 
 import javax.validation.Valid;
+import java.io.IOException;
 
 
 @Controller
 public class BidListController {
-    // TODO: Inject Bid service
+    @Autowired
+    private BidListService bidListService;
+    @Autowired
+    private CsvImportService csvImportService;
+    @Autowired
+    private RequestOffloader requestOffloader;
 
     @RequestMapping("/bidList/list")
-    public String home(Model model)
+    public DeferredResult<String> home(Model model, @ModelAttribute("filter") ListFilter filter,
+                                       @RequestParam(value = "cursor", required = false) String cursor,
+                                       @RequestParam(value = "size", required = false) Integer size)
     {
-        // TODO: call service find all bids to show to the view
-        return "bidList/list";
+        return requestOffloader.offload(() -> {
+            model.addAttribute("page", bidListService.findPage(filter, cursor, size));
+            return "bidList/list";
+        });
     }
 
     @GetMapping("/bidList/add")
@@ -30,26 +51,39 @@ public class BidListController {
 
     @PostMapping("/bidList/validate")
     public String validate(@Valid BidList bid, BindingResult result, Model model) {
-        // TODO: check data valid and save to db, after saving return bid list
+        if (!result.hasErrors()) {
+            bidListService.submit(bid);
+            return "redirect:/bidList/list";
+        }
         return "bidList/add";
     }
 
+    @PostMapping("/bidList/import")
+    @ResponseBody
+    public ImportReport importBids(@RequestParam("file") MultipartFile file) throws IOException {
+        return csvImportService.importBids(file.getOriginalFilename(), file.getInputStream());
+    }
+
     @GetMapping("/bidList/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model) {
-        // TODO: get Bid by Id and to model then show to the form
+    public String showUpdateForm(@PathVariable("id") Long id, Model model) {
+        model.addAttribute("bidList", bidListService.findById(id));
         return "bidList/update";
     }
 
     @PostMapping("/bidList/update/{id}")
-    public String updateBid(@PathVariable("id") Integer id, @Valid BidList bidList,
+    public String updateBid(@PathVariable("id") Long id, @Valid BidList bidList,
                              BindingResult result, Model model) {
-        // TODO: check required fields, if valid call service to update Bid and return list Bid
+        if (result.hasErrors()) {
+            return "bidList/update";
+        }
+        bidList.setBidListId(id);
+        bidListService.submit(bidList);
         return "redirect:/bidList/list";
     }
 
     @GetMapping("/bidList/delete/{id}")
-    public String deleteBid(@PathVariable("id") Integer id, Model model) {
-        // TODO: Find Bid by Id and delete the bid, return to Bid list
+    public String deleteBid(@PathVariable("id") Long id, Model model) {
+        bidListService.delete(id);
         return "redirect:/bidList/list";
     }
 }
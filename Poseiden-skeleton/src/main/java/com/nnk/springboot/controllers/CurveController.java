@@ -1,27 +1,63 @@
 package com.nnk.springboot.controllers;
 
+import com.nnk.springboot.config.EntityVersions;
 import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.services.CurvePointService;
+import com.nnk.springboot.services.ListFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 @Controller
 public class CurveController {
-    // TODO: Inject Curve Point service
+    @Autowired
+    private CurvePointService curvePointService;
+
+    @Autowired
+    private EntityVersions entityVersions;
+
+    @Value("${app.web.list-streaming.enabled:true}")
+    private boolean streaming;
+    @Value("${app.web.list-streaming.batch-size:500}")
+    private int batchSize;
 
     @RequestMapping("/curvePoint/list")
-    public String home(Model model)
+    public String home(Model model, @ModelAttribute("filter") ListFilter filter, ServletWebRequest request)
     {
-        // TODO: find all Curve Point, add to model
+        if (entityVersions.checkNotModified(CurvePoint.class, request)) {
+            return null;
+        }
+        if (streaming) {
+            // Rows are read as the table renders, each batch after flushing the page so far
+            HttpServletResponse response = request.getResponse();
+            model.addAttribute("curvePoints", curvePointService.findAll(filter, batchSize, () -> flush(response)));
+        } else {
+            model.addAttribute("curvePoints", curvePointService.findAll(filter));
+        }
         return "curvePoint/list";
     }
 
+    private static void flush(HttpServletResponse response) {
+        try {
+            response.flushBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @GetMapping("/curvePoint/add")
     public String addBidForm(CurvePoint bid) {
         return "curvePoint/add";
@@ -29,26 +65,36 @@ public class CurveController {
 
     @PostMapping("/curvePoint/validate")
     public String validate(@Valid CurvePoint curvePoint, BindingResult result, Model model) {
-        // TODO: check data valid and save to db, after saving return Curve list
+        if (!result.hasErrors()) {
+            curvePointService.save(curvePoint);
+            entityVersions.bump(CurvePoint.class);
+            return "redirect:/curvePoint/list";
+        }
         return "curvePoint/add";
     }
 
     @GetMapping("/curvePoint/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model) {
-        // TODO: get CurvePoint by Id and to model then show to the form
+    public String showUpdateForm(@PathVariable("id") Long id, Model model) {
+        model.addAttribute("curvePoint", curvePointService.findById(id));
         return "curvePoint/update";
     }
 
     @PostMapping("/curvePoint/update/{id}")
-    public String updateBid(@PathVariable("id") Integer id, @Valid CurvePoint curvePoint,
+    public String updateBid(@PathVariable("id") Long id, @Valid CurvePoint curvePoint,
                              BindingResult result, Model model) {
-        // TODO: check required fields, if valid call service to update Curve and return Curve list
+        if (result.hasErrors()) {
+            return "curvePoint/update";
+        }
+        curvePoint.setId(id);
+        curvePointService.save(curvePoint);
+        entityVersions.bump(CurvePoint.class);
         return "redirect:/curvePoint/list";
     }
 
     @GetMapping("/curvePoint/delete/{id}")
-    public String deleteBid(@PathVariable("id") Integer id, Model model) {
-        // TODO: Find Curve by Id and delete the Curve, return to Curve list
+    public String deleteBid(@PathVariable("id") Long id, Model model) {
+        curvePointService.delete(id);
+        entityVersions.bump(CurvePoint.class);
         return "redirect:/curvePoint/list";
     }
 }
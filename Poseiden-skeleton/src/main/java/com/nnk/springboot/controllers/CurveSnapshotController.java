@@ -0,0 +1,56 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.services.CurveSnapshotService;
+import com.nnk.springboot.services.CurveSnapshotStatus;
+import com.nnk.springboot.services.Interpolation;
+import com.nnk.springboot.services.YieldCurveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+@Controller
+public class CurveSnapshotController {
+    @Autowired
+    private CurveSnapshotService curveSnapshotService;
+
+    @Autowired
+    private YieldCurveService yieldCurveService;
+
+    /**
+     * Re-exports the snapshot file of the curve from the curvepoint table, typically after the day's close.
+     */
+    @PostMapping("/admin/curves/{curveId}/snapshots")
+    @ResponseBody
+    public CurveSnapshotStatus export(@PathVariable("curveId") int curveId) {
+        return new CurveSnapshotStatus(curveSnapshotService.export(curveId));
+    }
+
+    /**
+     * The snapshot file as last exported; 404 if the curve never was.
+     */
+    @GetMapping("/admin/curves/{curveId}/snapshots")
+    @ResponseBody
+    public CurveSnapshotStatus status(@PathVariable("curveId") int curveId) {
+        return new CurveSnapshotStatus(curveSnapshotService.open(curveId));
+    }
+
+    /**
+     * Backtest lookup: the rate for a term on the curve as it stood at a past date, read from the snapshot file.
+     */
+    @GetMapping("/admin/curves/{curveId}/rate")
+    @ResponseBody
+    public double rate(@PathVariable("curveId") int curveId,
+                       @RequestParam("asOfDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOfDate,
+                       @RequestParam("term") double term,
+                       @RequestParam(value = "method", defaultValue = "LINEAR") Interpolation method) {
+        return yieldCurveService.interpolate(curveId, Timestamp.valueOf(asOfDate), term, method);
+    }
+}
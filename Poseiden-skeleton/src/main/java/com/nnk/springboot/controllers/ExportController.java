@@ -0,0 +1,62 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.services.ExportFormat;
+import com.nnk.springboot.services.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Controller
+public class ExportController {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private ExportService exportService;
+
+    @GetMapping("/bidList/export")
+    public ResponseEntity<StreamingResponseBody> exportBids(
+            @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return export("bids", format, acceptEncoding, out -> exportService.exportBids(format, out));
+    }
+
+    @GetMapping("/trade/export")
+    public ResponseEntity<StreamingResponseBody> exportTrades(
+            @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return export("trades", format, acceptEncoding, out -> exportService.exportTrades(format, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String name, ExportFormat format, String acceptEncoding,
+                                                         ExportWriter writer) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + "." + format.getExtension() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!gzip) {
+            return response.body(writer::write);
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(out -> {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, BUFFER_SIZE);
+            writer.write(compressed);
+            compressed.finish();
+        });
+    }
+
+    @FunctionalInterface
+    private interface ExportWriter {
+        void write(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,34 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.services.BidPricingService;
+import com.nnk.springboot.services.PricingReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+
+@Controller
+public class PricingController {
+    @Autowired
+    private BidPricingService bidPricingService;
+
+    /**
+     * Progress of the running pricing run, or the report of the last one; 204 before the first run.
+     */
+    @GetMapping("/admin/pricing")
+    public ResponseEntity<PricingReport> status() {
+        PricingReport report = bidPricingService.status();
+        return report == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(report);
+    }
+
+    /**
+     * Starts marking every open bid against the pricing curve: 202 with the report of the new run, whose progress
+     * is then read from {@link #status()}; 409 while another run is going.
+     */
+    @PostMapping("/admin/pricing/run")
+    public ResponseEntity<PricingReport> run() {
+        return ResponseEntity.accepted().header(HttpHeaders.LOCATION, "/admin/pricing").body(bidPricingService.start());
+    }
+}
@@ -1,24 +1,38 @@
 package com.nnk.springboot.controllers;
 
+import com.nnk.springboot.config.EntityVersions;
 import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.services.ListFilter;
+import com.nnk.springboot.services.RatingService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import javax.validation.Valid;
 
 @Controller
 public class RatingController {
-    // TODO: Inject Rating service
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private EntityVersions entityVersions;
 
     @RequestMapping("/rating/list")
-    public String home(Model model)
+    public String home(Model model, @ModelAttribute("filter") ListFilter filter, ServletWebRequest request)
     {
-        // TODO: find all Rating, add to model
+        if (entityVersions.checkNotModified(Rating.class, request)) {
+            return null;
+        }
+        // The unfiltered list comes from the ratings cache
+        model.addAttribute("ratings", filter.isEmpty() ? ratingService.findAll() : ratingService.findAll(filter));
         return "rating/list";
     }
 
@@ -29,26 +43,36 @@ public class RatingController {
 
     @PostMapping("/rating/validate")
     public String validate(@Valid Rating rating, BindingResult result, Model model) {
-        // TODO: check data valid and save to db, after saving return Rating list
+        if (!result.hasErrors()) {
+            ratingService.save(rating);
+            entityVersions.bump(Rating.class);
+            return "redirect:/rating/list";
+        }
         return "rating/add";
     }
 
     @GetMapping("/rating/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model) {
-        // TODO: get Rating by Id and to model then show to the form
+    public String showUpdateForm(@PathVariable("id") Long id, Model model) {
+        model.addAttribute("rating", ratingService.findById(id));
         return "rating/update";
     }
 
     @PostMapping("/rating/update/{id}")
-    public String updateRating(@PathVariable("id") Integer id, @Valid Rating rating,
+    public String updateRating(@PathVariable("id") Long id, @Valid Rating rating,
                              BindingResult result, Model model) {
-        // TODO: check required fields, if valid call service to update Rating and return Rating list
+        if (result.hasErrors()) {
+            return "rating/update";
+        }
+        rating.setId(id);
+        ratingService.save(rating);
+        entityVersions.bump(Rating.class);
         return "redirect:/rating/list";
     }
 
     @GetMapping("/rating/delete/{id}")
-    public String deleteRating(@PathVariable("id") Integer id, Model model) {
-        // TODO: Find Rating by Id and delete the Rating, return to Rating list
+    public String deleteRating(@PathVariable("id") Long id, Model model) {
+        ratingService.delete(id);
+        entityVersions.bump(Rating.class);
         return "redirect:/rating/list";
     }
 }
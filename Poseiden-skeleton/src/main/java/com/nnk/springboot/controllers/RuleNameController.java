@@ -1,24 +1,40 @@
 package com.nnk.springboot.controllers;
 
+import com.nnk.springboot.config.EntityVersions;
 import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.services.RuleEngine;
+import com.nnk.springboot.services.RuleNameService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import javax.validation.Valid;
 
 @Controller
 public class RuleNameController {
-    // TODO: Inject RuleName service
+    @Autowired
+    private RuleNameService ruleNameService;
+
+    @Autowired
+    private EntityVersions entityVersions;
+
+    @Autowired
+    private RuleEngine ruleEngine;
 
     @RequestMapping("/ruleName/list")
-    public String home(Model model)
+    public String home(Model model, ServletWebRequest request)
     {
-        // TODO: find all RuleName, add to model
+        if (entityVersions.checkNotModified(RuleName.class, request)) {
+            return null;
+        }
+        model.addAttribute("ruleNames", ruleNameService.findAll());
         return "ruleName/list";
     }
 
@@ -29,26 +45,48 @@ public class RuleNameController {
 
     @PostMapping("/ruleName/validate")
     public String validate(@Valid RuleName ruleName, BindingResult result, Model model) {
-        // TODO: check data valid and save to db, after saving return RuleName list
+        checkSqlPart(ruleName, result);
+        if (!result.hasErrors()) {
+            ruleNameService.save(ruleName);
+            entityVersions.bump(RuleName.class);
+            return "redirect:/ruleName/list";
+        }
         return "ruleName/add";
     }
 
     @GetMapping("/ruleName/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model) {
-        // TODO: get RuleName by Id and to model then show to the form
+    public String showUpdateForm(@PathVariable("id") Long id, Model model) {
+        model.addAttribute("ruleName", ruleNameService.findById(id));
         return "ruleName/update";
     }
 
     @PostMapping("/ruleName/update/{id}")
-    public String updateRuleName(@PathVariable("id") Integer id, @Valid RuleName ruleName,
+    public String updateRuleName(@PathVariable("id") Long id, @Valid RuleName ruleName,
                              BindingResult result, Model model) {
-        // TODO: check required fields, if valid call service to update RuleName and return RuleName list
+        checkSqlPart(ruleName, result);
+        if (result.hasErrors()) {
+            return "ruleName/update";
+        }
+        ruleName.setId(id);
+        ruleNameService.save(ruleName);
+        entityVersions.bump(RuleName.class);
         return "redirect:/ruleName/list";
     }
 
     @GetMapping("/ruleName/delete/{id}")
-    public String deleteRuleName(@PathVariable("id") Integer id, Model model) {
-        // TODO: Find RuleName by Id and delete the RuleName, return to Rule list
+    public String deleteRuleName(@PathVariable("id") Long id, Model model) {
+        ruleNameService.delete(id);
+        entityVersions.bump(RuleName.class);
         return "redirect:/ruleName/list";
     }
+
+    private void checkSqlPart(RuleName ruleName, BindingResult result) {
+        if (StringUtils.hasText(ruleName.getSqlPart())) {
+            try {
+                ruleEngine.validate(ruleName.getSqlPart());
+            } catch (IllegalArgumentException e) {
+                result.rejectValue("sqlPart", "invalid", e.getMessage());
+            }
+        }
+    }
 }
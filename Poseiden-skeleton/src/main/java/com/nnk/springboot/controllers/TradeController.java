@@ -1,25 +1,50 @@
 package com.nnk.springboot.controllers;
 
+import com.nnk.springboot.config.RequestOffloader;
 import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.services.CsvImportService;
+import com.nnk.springboot.services.ImportReport;
+import com.nnk.springboot.services.ListFilter;
+import com.nnk.springboot.services.Position;
+import com.nnk.springboot.services.PositionService;
+import com.nnk.springboot.services.TradeService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.multipart.MultipartFile;
 
 import javax.validation.Valid;
+import java.io.IOException;
 
 @Controller
 public class TradeController {
-    // TODO: Inject Trade service
+    @Autowired
+    private TradeService tradeService;
+    @Autowired
+    private CsvImportService csvImportService;
+    @Autowired
+    private RequestOffloader requestOffloader;
+    @Autowired
+    private PositionService positionService;
 
     @RequestMapping("/trade/list")
-    public String home(Model model)
+    public DeferredResult<String> home(Model model, @ModelAttribute("filter") ListFilter filter,
+                                       @RequestParam(value = "cursor", required = false) String cursor,
+                                       @RequestParam(value = "size", required = false) Integer size)
     {
-        // TODO: find all Trade, add to model
-        return "trade/list";
+        return requestOffloader.offload(() -> {
+            model.addAttribute("page", tradeService.findPage(filter, cursor, size));
+            return "trade/list";
+        });
     }
 
     @GetMapping("/trade/add")
@@ -29,26 +54,50 @@ public class TradeController {
 
     @PostMapping("/trade/validate")
     public String validate(@Valid Trade trade, BindingResult result, Model model) {
-        // TODO: check data valid and save to db, after saving return Trade list
+        if (!result.hasErrors()) {
+            tradeService.submit(trade);
+            return "redirect:/trade/list";
+        }
         return "trade/add";
     }
 
+    @PostMapping("/trade/import")
+    @ResponseBody
+    public ImportReport importTrades(@RequestParam("file") MultipartFile file) throws IOException {
+        return csvImportService.importTrades(file.getOriginalFilename(), file.getInputStream());
+    }
+
+    @GetMapping("/trade/position")
+    @ResponseBody
+    public Position position(@RequestParam("book") String book,
+                             @RequestParam(value = "account", required = false) String account,
+                             @RequestParam(value = "security", required = false) String security) {
+        if (account == null && security == null) {
+            return positionService.bookPosition(book);
+        }
+        return positionService.position(account, book, security);
+    }
+
     @GetMapping("/trade/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model) {
-        // TODO: get Trade by Id and to model then show to the form
+    public String showUpdateForm(@PathVariable("id") Long id, Model model) {
+        model.addAttribute("trade", tradeService.findById(id));
         return "trade/update";
     }
 
     @PostMapping("/trade/update/{id}")
-    public String updateTrade(@PathVariable("id") Integer id, @Valid Trade trade,
+    public String updateTrade(@PathVariable("id") Long id, @Valid Trade trade,
                              BindingResult result, Model model) {
-        // TODO: check required fields, if valid call service to update Trade and return Trade list
+        if (result.hasErrors()) {
+            return "trade/update";
+        }
+        trade.setTradeId(id);
+        tradeService.submit(trade);
         return "redirect:/trade/list";
     }
 
     @GetMapping("/trade/delete/{id}")
-    public String deleteTrade(@PathVariable("id") Integer id, Model model) {
-        // TODO: Find Trade by Id and delete the Trade, return to Trade list
+    public String deleteTrade(@PathVariable("id") Long id, Model model) {
+        tradeService.delete(id);
         return "redirect:/trade/list";
     }
 }
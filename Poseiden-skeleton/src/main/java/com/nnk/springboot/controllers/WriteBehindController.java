@@ -0,0 +1,36 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.services.WriteBehindQueue;
+import com.nnk.springboot.services.WriteBehindStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.concurrent.TimeUnit;
+
+@Controller
+public class WriteBehindController {
+    @Autowired
+    private WriteBehindQueue writeBehindQueue;
+
+    @GetMapping("/admin/write-behind")
+    @ResponseBody
+    public WriteBehindStatus status() {
+        return writeBehindQueue.status();
+    }
+
+    /**
+     * Waits for everything queued so far to be written: 200 once drained, 202 if still writing at the timeout.
+     */
+    @PostMapping("/admin/write-behind/flush")
+    public ResponseEntity<WriteBehindStatus> flush(
+            @RequestParam(value = "timeoutSeconds", defaultValue = "30") long timeoutSeconds) throws InterruptedException {
+        boolean drained = writeBehindQueue.flush(timeoutSeconds, TimeUnit.SECONDS);
+        return ResponseEntity.status(drained ? HttpStatus.OK : HttpStatus.ACCEPTED).body(writeBehindQueue.status());
+    }
+}
@@ -1,15 +1,259 @@
 package com.nnk.springboot.domain;
 
-import org.springframework.beans.factory.annotation.Required;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
-import javax.validation.constraints.Digits;
 import javax.validation.constraints.NotBlank;
-import java.sql.Date;
 import java.sql.Timestamp;
 
 @Entity
 @Table(name = "bidlist")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class BidList {
-    // TODO: Map columns in data table BIDLIST with corresponding java fields
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bidlist_seq")
+    @SequenceGenerator(name = "bidlist_seq", sequenceName = "bidlist_seq", allocationSize = 50)
+    @Column(name = "BidListId")
+    private Long bidListId;
+    @NotBlank(message = "Account is mandatory")
+    private String account;
+    @NotBlank(message = "Type is mandatory")
+    private String type;
+    private Double bidQuantity;
+    private Double askQuantity;
+    private Double bid;
+    private Double ask;
+    private String benchmark;
+    private Timestamp bidListDate;
+    private String commentary;
+    private String security;
+    private String status;
+    private String trader;
+    private String book;
+    private String creationName;
+    private Timestamp creationDate;
+    private String revisionName;
+    private Timestamp revisionDate;
+    private String dealName;
+    private String dealType;
+    private String sourceListId;
+    private String side;
+    // Written only by the pricing run, over JDBC: entity saves must never null them out
+    @Column(insertable = false, updatable = false)
+    private Double markPrice;
+    @Column(insertable = false, updatable = false)
+    private Double markValue;
+    @Column(insertable = false, updatable = false)
+    private Timestamp markDate;
+
+    public BidList() {
+    }
+
+    public BidList(String account, String type, Double bidQuantity) {
+        this.account = account;
+        this.type = type;
+        this.bidQuantity = bidQuantity;
+    }
+
+    public Long getBidListId() {
+        return bidListId;
+    }
+
+    public void setBidListId(Long bidListId) {
+        this.bidListId = bidListId;
+    }
+
+    public String getAccount() {
+        return account;
+    }
+
+    public void setAccount(String account) {
+        this.account = account;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Double getBidQuantity() {
+        return bidQuantity;
+    }
+
+    public void setBidQuantity(Double bidQuantity) {
+        this.bidQuantity = bidQuantity;
+    }
+
+    public Double getAskQuantity() {
+        return askQuantity;
+    }
+
+    public void setAskQuantity(Double askQuantity) {
+        this.askQuantity = askQuantity;
+    }
+
+    public Double getBid() {
+        return bid;
+    }
+
+    public void setBid(Double bid) {
+        this.bid = bid;
+    }
+
+    public Double getAsk() {
+        return ask;
+    }
+
+    public void setAsk(Double ask) {
+        this.ask = ask;
+    }
+
+    public String getBenchmark() {
+        return benchmark;
+    }
+
+    public void setBenchmark(String benchmark) {
+        this.benchmark = benchmark;
+    }
+
+    public Timestamp getBidListDate() {
+        return bidListDate;
+    }
+
+    public void setBidListDate(Timestamp bidListDate) {
+        this.bidListDate = bidListDate;
+    }
+
+    public String getCommentary() {
+        return commentary;
+    }
+
+    public void setCommentary(String commentary) {
+        this.commentary = commentary;
+    }
+
+    public String getSecurity() {
+        return security;
+    }
+
+    public void setSecurity(String security) {
+        this.security = security;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getTrader() {
+        return trader;
+    }
+
+    public void setTrader(String trader) {
+        this.trader = trader;
+    }
+
+    public String getBook() {
+        return book;
+    }
+
+    public void setBook(String book) {
+        this.book = book;
+    }
+
+    public String getCreationName() {
+        return creationName;
+    }
+
+    public void setCreationName(String creationName) {
+        this.creationName = creationName;
+    }
+
+    public Timestamp getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(Timestamp creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    public String getRevisionName() {
+        return revisionName;
+    }
+
+    public void setRevisionName(String revisionName) {
+        this.revisionName = revisionName;
+    }
+
+    public Timestamp getRevisionDate() {
+        return revisionDate;
+    }
+
+    public void setRevisionDate(Timestamp revisionDate) {
+        this.revisionDate = revisionDate;
+    }
+
+    public String getDealName() {
+        return dealName;
+    }
+
+    public void setDealName(String dealName) {
+        this.dealName = dealName;
+    }
+
+    public String getDealType() {
+        return dealType;
+    }
+
+    public void setDealType(String dealType) {
+        this.dealType = dealType;
+    }
+
+    public String getSourceListId() {
+        return sourceListId;
+    }
+
+    public void setSourceListId(String sourceListId) {
+        this.sourceListId = sourceListId;
+    }
+
+    public String getSide() {
+        return side;
+    }
+
+    public void setSide(String side) {
+        this.side = side;
+    }
+
+    public Double getMarkPrice() {
+        return markPrice;
+    }
+
+    public void setMarkPrice(Double markPrice) {
+        this.markPrice = markPrice;
+    }
+
+    public Double getMarkValue() {
+        return markValue;
+    }
+
+    public void setMarkValue(Double markValue) {
+        this.markValue = markValue;
+    }
+
+    public Timestamp getMarkDate() {
+        return markDate;
+    }
+
+    public void setMarkDate(Timestamp markDate) {
+        this.markDate = markDate;
+    }
 }
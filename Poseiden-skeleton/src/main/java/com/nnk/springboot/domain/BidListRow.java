@@ -0,0 +1,35 @@
+package com.nnk.springboot.domain;
+
+/**
+ * The columns of the bid list screen, read as a constructor projection: never managed, so neither
+ * dirty-checked nor put in the second-level cache.
+ */
+public class BidListRow {
+    private final Long bidListId;
+    private final String account;
+    private final String type;
+    private final Double bidQuantity;
+
+    public BidListRow(Long bidListId, String account, String type, Double bidQuantity) {
+        this.bidListId = bidListId;
+        this.account = account;
+        this.type = type;
+        this.bidQuantity = bidQuantity;
+    }
+
+    public Long getBidListId() {
+        return bidListId;
+    }
+
+    public String getAccount() {
+        return account;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Double getBidQuantity() {
+        return bidQuantity;
+    }
+}
@@ -0,0 +1,34 @@
+package com.nnk.springboot.domain;
+
+/**
+ * The columns of the curve point list screen, read as a constructor projection.
+ */
+public class CurvePointRow {
+    private final Long id;
+    private final Integer curveId;
+    private final Double term;
+    private final Double value;
+
+    public CurvePointRow(Long id, Integer curveId, Double term, Double value) {
+        this.id = id;
+        this.curveId = curveId;
+        this.term = term;
+        this.value = value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Integer getCurveId() {
+        return curveId;
+    }
+
+    public Double getTerm() {
+        return term;
+    }
+
+    public Double getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,31 @@
+package com.nnk.springboot.domain;
+
+import java.util.Date;
+
+/**
+ * One point of a curve snapshot, read as a constructor projection when exporting snapshot files. Hibernate
+ * resolves the constructor from the mapped types, hence Date and primitive doubles.
+ */
+public class CurveSnapshotRow {
+    private final Date asOfDate;
+    private final double term;
+    private final double value;
+
+    public CurveSnapshotRow(Date asOfDate, double term, double value) {
+        this.asOfDate = asOfDate;
+        this.term = term;
+        this.value = value;
+    }
+
+    public Date getAsOfDate() {
+        return asOfDate;
+    }
+
+    public double getTerm() {
+        return term;
+    }
+
+    public double getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,34 @@
+package com.nnk.springboot.domain;
+
+/**
+ * The columns of the trade list screen, read as a constructor projection.
+ */
+public class TradeRow {
+    private final Long tradeId;
+    private final String account;
+    private final String type;
+    private final Double buyQuantity;
+
+    public TradeRow(Long tradeId, String account, String type, Double buyQuantity) {
+        this.tradeId = tradeId;
+        this.account = account;
+        this.type = type;
+        this.buyQuantity = buyQuantity;
+    }
+
+    public Long getTradeId() {
+        return tradeId;
+    }
+
+    public String getAccount() {
+        return account;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Double getBuyQuantity() {
+        return buyQuantity;
+    }
+}
@@ -0,0 +1,15 @@
+package com.nnk.springboot.domain;
+
+/**
+ * Closed projection of the user list screen: only these columns are selected, the password hash is never read.
+ */
+public interface UserSummary {
+
+    Long getId();
+
+    String getFullname();
+
+    String getUsername();
+
+    String getRole();
+}
@@ -1,9 +1,47 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.BidList;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.nnk.springboot.domain.BidListRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.Stream;
 
-public interface BidListRepository extends JpaRepository<BidList, Integer> {
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
+
+public interface BidListRepository extends FilterableRepository<BidList, Long> {
+
+    default Slice<BidListRow> findListRows(Specification<BidList> spec, Pageable pageable) {
+        return findSlice(spec, pageable, BidListRow.class, "bidListId", "account", "type", "bidQuantity");
+    }
+
+    // Finders backed by the (column, bidListDate) indexes of the V2 migration
+
+    List<BidList> findByAccount(String account, Pageable pageable);
+
+    List<BidList> findByBook(String book, Pageable pageable);
+
+    List<BidList> findByTrader(String trader, Pageable pageable);
+
+    List<BidList> findByStatus(String status, Pageable pageable);
+
+    List<BidList> findByBidListDateBetween(Timestamp from, Timestamp to, Pageable pageable);
+
+    List<BidList> findByAccountAndBidListDateBetween(String account, Timestamp from, Timestamp to, Pageable pageable);
+
+    List<BidList> findByBookAndBidListDateBetween(String book, Timestamp from, Timestamp to, Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")})
+    @Query("select b from BidList b order by b.bidListId")
+    Stream<BidList> streamAll();
 }
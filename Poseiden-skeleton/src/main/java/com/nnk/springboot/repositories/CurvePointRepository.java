@@ -1,9 +1,28 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.CurvePoint;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.nnk.springboot.domain.CurvePointRow;
+import com.nnk.springboot.domain.CurveSnapshotRow;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.Query;
 
+import java.sql.Timestamp;
+import java.util.List;
 
-public interface CurvePointRepository extends JpaRepository<CurvePoint, Integer> {
 
+public interface CurvePointRepository extends FilterableRepository<CurvePoint, Long> {
+
+    default List<CurvePointRow> findListRows(Specification<CurvePoint> spec, Sort sort) {
+        return findRows(spec, sort, CurvePointRow.class, "id", "curveId", "term", "value");
+    }
+
+    List<CurvePoint> findByCurveId(Integer curveId);
+
+    List<CurvePoint> findByCurveIdAndAsOfDate(Integer curveId, Timestamp asOfDate);
+
+    @Query("select new com.nnk.springboot.domain.CurveSnapshotRow(p.asOfDate, p.term, p.value) from CurvePoint p"
+            + " where p.curveId = ?1 and p.asOfDate is not null and p.term is not null and p.value is not null"
+            + " order by p.asOfDate, p.term, p.id")
+    List<CurveSnapshotRow> findSnapshotPoints(Integer curveId);
 }
@@ -0,0 +1,37 @@
+package com.nnk.springboot.repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * Repository of the list screens: {@link Specification} filters plus {@link #findSlice}, implemented once for
+ * every repository by {@link FilterableRepositoryImpl}.
+ */
+@NoRepositoryBean
+public interface FilterableRepository<T, ID> extends JpaRepository<T, ID>, JpaSpecificationExecutor<T> {
+
+    /**
+     * Reads one page of matches in the order of the pageable. Unlike {@link #findAll(Specification, Pageable)} no
+     * count query is run: one extra row is read to know whether a next slice exists.
+     */
+    Slice<T> findSlice(@Nullable Specification<T> spec, Pageable pageable);
+
+    /**
+     * Like {@link #findSlice(Specification, Pageable)}, but selects only the given attributes and passes them, in
+     * order, to a constructor of the row type. Rows are plain objects, outside the persistence context.
+     */
+    <R> Slice<R> findSlice(@Nullable Specification<T> spec, Pageable pageable, Class<R> rowType, String... attributes);
+
+    /**
+     * Every match as rows built from the given attributes, see {@link #findSlice(Specification, Pageable, Class, String...)}.
+     */
+    <R> List<R> findRows(@Nullable Specification<T> spec, Sort sort, Class<R> rowType, String... attributes);
+}
@@ -0,0 +1,76 @@
+package com.nnk.springboot.repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.List;
+
+/**
+ * Base class of all repositories (see {@link com.nnk.springboot.config.RepositoryConfig}).
+ */
+@Transactional(readOnly = true)
+public class FilterableRepositoryImpl<T, ID> extends SimpleJpaRepository<T, ID> implements FilterableRepository<T, ID> {
+    private final EntityManager entityManager;
+
+    public FilterableRepositoryImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Slice<T> findSlice(@Nullable Specification<T> spec, Pageable pageable) {
+        return slice(getQuery(spec, pageable.getSort()), pageable);
+    }
+
+    @Override
+    public <R> Slice<R> findSlice(@Nullable Specification<T> spec, Pageable pageable, Class<R> rowType,
+                                  String... attributes) {
+        return slice(rowQuery(spec, pageable.getSort(), rowType, attributes), pageable);
+    }
+
+    @Override
+    public <R> List<R> findRows(@Nullable Specification<T> spec, Sort sort, Class<R> rowType, String... attributes) {
+        return rowQuery(spec, sort, rowType, attributes).getResultList();
+    }
+
+    private <R> TypedQuery<R> rowQuery(@Nullable Specification<T> spec, Sort sort, Class<R> rowType,
+                                       String... attributes) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = builder.createQuery(rowType);
+        Root<T> root = query.from(getDomainClass());
+        Selection<?>[] columns = new Selection<?>[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            columns[i] = root.get(attributes[i]);
+        }
+        query.select(builder.construct(rowType, columns));
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        return entityManager.createQuery(query);
+    }
+
+    private static <R> Slice<R> slice(TypedQuery<R> query, Pageable pageable) {
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+        List<R> rows = query.getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+}
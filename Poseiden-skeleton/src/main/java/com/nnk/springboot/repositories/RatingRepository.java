@@ -1,8 +1,7 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.Rating;
-import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface RatingRepository extends JpaRepository<Rating, Integer> {
+public interface RatingRepository extends FilterableRepository<Rating, Long> {
 
 }
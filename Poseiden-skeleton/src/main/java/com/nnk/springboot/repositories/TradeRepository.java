@@ -1,8 +1,57 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.Trade;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.nnk.springboot.domain.TradeRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TradeRepository extends JpaRepository<Trade, Integer> {
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+
+public interface TradeRepository extends FilterableRepository<Trade, Long> {
+
+    default Slice<TradeRow> findListRows(Specification<Trade> spec, Pageable pageable) {
+        return findSlice(spec, pageable, TradeRow.class, "tradeId", "account", "type", "buyQuantity");
+    }
+
+    /**
+     * Reads a trade with a row lock held until the end of the transaction (select ... for update).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Trade t where t.tradeId = ?1")
+    Optional<Trade> findForUpdate(Long tradeId);
+
+    // Finders backed by the (column, tradeDate) indexes of the V2 migration
+
+    List<Trade> findByAccount(String account, Pageable pageable);
+
+    List<Trade> findByBook(String book, Pageable pageable);
+
+    List<Trade> findByTrader(String trader, Pageable pageable);
+
+    List<Trade> findByStatus(String status, Pageable pageable);
+
+    List<Trade> findByTradeDateBetween(Timestamp from, Timestamp to, Pageable pageable);
+
+    List<Trade> findByAccountAndTradeDateBetween(String account, Timestamp from, Timestamp to, Pageable pageable);
+
+    List<Trade> findByBookAndTradeDateBetween(String book, Timestamp from, Timestamp to, Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")})
+    @Query("select t from Trade t order by t.tradeId")
+    Stream<Trade> streamAll();
 }
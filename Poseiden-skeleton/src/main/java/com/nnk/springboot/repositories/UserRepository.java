@@ -1,12 +1,24 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.User;
+import com.nnk.springboot.domain.UserSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecificationExecutor<User> {
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
+
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    Optional<User> findByUsername(String username);
+
+    List<UserSummary> findAllByOrderByIdAsc();
 }
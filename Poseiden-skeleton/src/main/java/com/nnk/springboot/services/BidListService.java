@@ -0,0 +1,96 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.BidListRow;
+import com.nnk.springboot.repositories.BidListRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.nnk.springboot.services.FilterSpecifications.between;
+import static com.nnk.springboot.services.FilterSpecifications.contains;
+import static com.nnk.springboot.services.FilterSpecifications.equal;
+
+@Service
+public class BidListService {
+    private static final Map<String, String> SORTS = new HashMap<>();
+
+    static {
+        SORTS.put("id", "bidListId");
+        SORTS.put("account", "account");
+        SORTS.put("type", "type");
+        SORTS.put("quantity", "bidQuantity");
+        SORTS.put("date", "bidListDate");
+        SORTS.put("status", "status");
+    }
+
+    @Autowired
+    private BidListRepository bidListRepository;
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+    @Autowired
+    private WriteBehindQueue writeBehindQueue;
+    // Saves go through the proxy so the marks are read and kept in the transaction that writes the bid
+    @Autowired
+    @Lazy
+    private BidListService self;
+
+    @PostConstruct
+    public void init() {
+        writeBehindQueue.register("bidList", BidList.class, bidList -> self.save(bidList));
+    }
+
+    public KeysetPage<BidListRow> findPage(String token, Integer size) {
+        return findPage(new ListFilter(), token, size);
+    }
+
+    /**
+     * Filters on account, type, status, bidListDate range and free text in security or commentary. Only the
+     * listed columns are read.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<BidListRow> findPage(ListFilter filter, String token, Integer size) {
+        Specification<BidList> spec = Specification.<BidList>where(equal("account", filter.getAccount()))
+                .and(equal("type", filter.getType()))
+                .and(equal("status", filter.getStatus()))
+                .and(between("bidListDate", filter.getFrom(), filter.getTo()))
+                .and(contains(filter.getQ(), "security", "commentary"));
+        return keysetPaginator.page(token, size, spec, filter.sort(SORTS, "bidListId"), "bidListId",
+                bidListRepository::findListRows, BidListRow::getBidListId);
+    }
+
+    public BidList findById(Long id) {
+        return bidListRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Invalid bid Id:" + id));
+    }
+
+    /**
+     * The marks are not editable: those of the stored bid are kept on the saved one, so the merged entity and
+     * the second-level cache agree with the columns, which entity saves never write.
+     */
+    @Transactional
+    public BidList save(BidList bidList) {
+        BidList stored = bidList.getBidListId() == null ? null
+                : bidListRepository.findById(bidList.getBidListId()).orElse(null);
+        bidList.setMarkPrice(stored == null ? null : stored.getMarkPrice());
+        bidList.setMarkValue(stored == null ? null : stored.getMarkValue());
+        bidList.setMarkDate(stored == null ? null : stored.getMarkDate());
+        return bidListRepository.save(bidList);
+    }
+
+    /**
+     * Saves now, or queues the write when write-behind is enabled.
+     */
+    public void submit(BidList bidList) {
+        writeBehindQueue.submit(bidList);
+    }
+
+    public void delete(Long id) {
+        bidListRepository.delete(findById(id));
+    }
+}
@@ -0,0 +1,315 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * End-of-day marking of open bids against the current {@link YieldCurve} of the pricing curve.
+ * <p>
+ * The bidListId range of the open bids is cut into partitions that a fork-join pool prices in parallel, each in
+ * its own transaction: bids are read as scalar columns and their marks written back in JDBC batches of
+ * hibernate.jdbc.batch_size, bypassing the second-level cache, whose bidlist region is evicted once at the end.
+ * <p>
+ * A bid's tenor is read from its benchmark ("UST, 10Y", "6M", "30D"), its mark price is the curve at that tenor
+ * and its mark value is bidQuantity * (markPrice - bid), bid being the mid of bid and ask when both are known.
+ * Bids without a tenor, a bid or a quantity are skipped.
+ * <p>
+ * Runs are started from {@code POST /admin/pricing/run}, which returns at once, or on the {@code app.pricing.cron}
+ * schedule; only one runs at a time.
+ */
+@Service
+public class BidPricingService {
+    private static final Logger logger = LoggerFactory.getLogger(BidPricingService.class);
+
+    private static final Pattern TENOR = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*([DWMY])\\b", Pattern.CASE_INSENSITIVE);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private YieldCurveService yieldCurveService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.pricing.curve-id:1}")
+    private int curveId;
+
+    @Value("${app.pricing.interpolation:LINEAR}")
+    private Interpolation interpolation;
+
+    @Value("${app.pricing.open-status:OPEN}")
+    private String openStatus;
+
+    @Value("${app.pricing.threads:0}")
+    private int threads;
+
+    @Value("${app.pricing.partition-size:5000}")
+    private int partitionSize;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int batchSize;
+
+    private final AtomicReference<PricingReport> lastRun = new AtomicReference<>();
+    private final TaskExecutor runner = new SimpleAsyncTaskExecutor("bid-pricing-");
+    private TransactionTemplate transactionTemplate;
+    private Counter priced;
+    private Counter skipped;
+    private Timer partitionTimer;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        priced = meterRegistry.counter("app.pricing.bids", "result", "priced");
+        skipped = meterRegistry.counter("app.pricing.bids", "result", "skipped");
+        partitionTimer = meterRegistry.timer("app.pricing.partition");
+    }
+
+    /**
+     * @return the running or last finished run, null before the first one
+     */
+    public PricingReport status() {
+        return lastRun.get();
+    }
+
+    /**
+     * Marks every open bid and waits for the run to finish.
+     *
+     * @throws PricingInProgressException when another run has not finished yet
+     */
+    public PricingReport price() {
+        PricingRun run = begin();
+        run.run();
+        return run.report;
+    }
+
+    /**
+     * Starts marking every open bid on a background thread.
+     *
+     * @return the report of the new run, updated as it goes and also returned by {@link #status()}
+     * @throws PricingInProgressException when another run has not finished yet
+     */
+    public PricingReport start() {
+        PricingRun run = begin();
+        runner.execute(() -> {
+            try {
+                run.run();
+            } catch (RuntimeException e) {
+                logger.error("Pricing run against curve {} failed", curveId, e);
+            }
+        });
+        return run.report;
+    }
+
+    /**
+     * Claims the run slot for a new run, checking the curve first so that a run that cannot start fails at once.
+     */
+    private PricingRun begin() {
+        YieldCurve curve = yieldCurveService.getCurve(curveId);
+        if (curve.size() == 0) {
+            throw new IllegalStateException("Curve " + curveId + " has no points");
+        }
+        List<long[]> partitions = partitions();
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        PricingReport report = new PricingReport(new Timestamp(System.currentTimeMillis()), curveId, parallelism,
+                partitions.size());
+        PricingReport previous = lastRun.get();
+        if (previous != null && !previous.isFinished() || !lastRun.compareAndSet(previous, report)) {
+            throw new PricingInProgressException();
+        }
+        return new PricingRun(partitions, curve, parallelism, report);
+    }
+
+    /**
+     * @return [from, to) bidListId ranges covering the open bids
+     */
+    private List<long[]> partitions() {
+        Object[] range = transactionTemplate.execute(status -> (Object[]) entityManager
+                .createQuery("select min(b.bidListId), max(b.bidListId) from BidList b where b.status = :status")
+                .setParameter("status", openStatus)
+                .getSingleResult());
+        List<long[]> partitions = new ArrayList<>();
+        if (range != null && range[0] != null) {
+            long max = ((Number) range[1]).longValue();
+            for (long from = ((Number) range[0]).longValue(); from <= max; from += partitionSize) {
+                partitions.add(new long[]{from, Math.min(max + 1, from + partitionSize)});
+            }
+        }
+        return partitions;
+    }
+
+    private PricingReport.PartitionTiming price(long from, long to, YieldCurve curve, Timestamp markDate) {
+        long start = System.nanoTime();
+        int[] counts = transactionTemplate.execute(status -> {
+            List<?> rows = entityManager.createQuery("select b.bidListId, b.bid, b.ask, b.bidQuantity, b.benchmark"
+                    + " from BidList b where b.bidListId >= :from and b.bidListId < :to and b.status = :status")
+                    .setParameter("from", from)
+                    .setParameter("to", to)
+                    .setParameter("status", openStatus)
+                    .getResultList();
+            int[] pricedBids = new int[1];
+            entityManager.unwrap(Session.class).doWork(connection -> {
+                try (PreparedStatement update = connection.prepareStatement(
+                        "update bidlist set markPrice = ?, markValue = ?, markDate = ? where BidListId = ?")) {
+                    for (Object row : rows) {
+                        Object[] columns = (Object[]) row;
+                        Double bid = (Double) columns[1];
+                        Double ask = (Double) columns[2];
+                        Double quantity = (Double) columns[3];
+                        double term = tenor((String) columns[4]);
+                        if (bid == null || quantity == null || Double.isNaN(term)) {
+                            continue;
+                        }
+                        double price = ask == null ? bid : (bid + ask) / 2;
+                        double markPrice = curve.interpolate(term, interpolation);
+                        update.setDouble(1, markPrice);
+                        update.setDouble(2, quantity * (markPrice - price));
+                        update.setTimestamp(3, markDate);
+                        update.setLong(4, ((Number) columns[0]).longValue());
+                        update.addBatch();
+                        if (++pricedBids[0] % batchSize == 0) {
+                            update.executeBatch();
+                        }
+                    }
+                    update.executeBatch();
+                }
+            });
+            return new int[]{pricedBids[0], rows.size() - pricedBids[0]};
+        });
+        long elapsed = System.nanoTime() - start;
+        partitionTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        priced.increment(counts[0]);
+        skipped.increment(counts[1]);
+        return new PricingReport.PartitionTiming(from, to, counts[0], counts[1],
+                TimeUnit.NANOSECONDS.toMillis(elapsed), Thread.currentThread().getName());
+    }
+
+    /**
+     * @return the last tenor written in the benchmark, in years, or NaN when there is none
+     */
+    static double tenor(String benchmark) {
+        if (benchmark == null) {
+            return Double.NaN;
+        }
+        Matcher matcher = TENOR.matcher(benchmark);
+        double years = Double.NaN;
+        while (matcher.find()) {
+            double amount = Double.parseDouble(matcher.group(1));
+            switch (Character.toUpperCase(matcher.group(2).charAt(0))) {
+                case 'D':
+                    years = amount / 365;
+                    break;
+                case 'W':
+                    years = amount * 7 / 365;
+                    break;
+                case 'M':
+                    years = amount / 12;
+                    break;
+                default:
+                    years = amount;
+            }
+        }
+        return years;
+    }
+
+    /**
+     * A run that holds the run slot, priced on the caller's thread by {@link #price()} or in the background by
+     * {@link #start()}.
+     */
+    private final class PricingRun implements Runnable {
+        private final List<long[]> partitions;
+        private final YieldCurve curve;
+        private final int parallelism;
+        private final PricingReport report;
+
+        PricingRun(List<long[]> partitions, YieldCurve curve, int parallelism, PricingReport report) {
+            this.partitions = partitions;
+            this.curve = curve;
+            this.parallelism = parallelism;
+            this.report = report;
+        }
+
+        @Override
+        public void run() {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(new PartitionTask(partitions, 0, partitions.size(), curve, report));
+            } catch (RuntimeException e) {
+                report.failed(e);
+                throw e;
+            } finally {
+                pool.shutdown();
+                entityManager.getEntityManagerFactory().getCache().evict(BidList.class);
+                report.finished();
+            }
+            logger.info("Priced {} bids ({} skipped) against curve {} in {} partitions with {} threads in {} ms ({} bids/s)",
+                    report.getBidsPriced(), report.getBidsSkipped(), curveId, partitions.size(), parallelism,
+                    report.getElapsedMillis(), report.getBidsPerSecond());
+        }
+    }
+
+    /**
+     * Splits the partition list in halves until a single partition is left, then prices it.
+     */
+    private final class PartitionTask extends RecursiveAction {
+        private final List<long[]> partitions;
+        private final int from;
+        private final int to;
+        private final YieldCurve curve;
+        private final PricingReport report;
+
+        PartitionTask(List<long[]> partitions, int from, int to, YieldCurve curve, PricingReport report) {
+            this.partitions = partitions;
+            this.from = from;
+            this.to = to;
+            this.curve = curve;
+            this.report = report;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PartitionTask(partitions, from, middle, curve, report),
+                        new PartitionTask(partitions, middle, to, curve, report));
+            } else if (to > from) {
+                long[] range = partitions.get(from);
+                report.partitionDone(price(range[0], range[1], curve, report.getMarkDate()));
+                int done = report.getPartitionsDone();
+                if (done % Math.max(1, report.getPartitionCount() / 10) == 0) {
+                    logger.info("Pricing progress: {}/{} partitions, {} bids, {} bids/s", done,
+                            report.getPartitionCount(), report.getBidsPriced(), report.getBidsPerSecond());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.nnk.springboot.services;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * A rule whose {@code sqlPart} has been parsed, together with the predicates already bound for each target type.
+ */
+public final class CompiledRule {
+    private final Long id;
+    private final String name;
+    private final RuleExpression expression;
+    private final ConcurrentHashMap<Class<?>, Predicate<Object>> bindings = new ConcurrentHashMap<>();
+
+    CompiledRule(Long id, String name, RuleExpression expression) {
+        this.id = id;
+        this.name = name;
+        this.expression = expression;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSource() {
+        return expression.getSource();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the rule references a property the target does not have
+     */
+    public boolean matches(Object target) {
+        return predicateFor(target.getClass()).test(target);
+    }
+
+    Predicate<Object> predicateFor(Class<?> type) {
+        Predicate<Object> predicate = bindings.get(type);
+        if (predicate == null) {
+            predicate = bindings.computeIfAbsent(type, expression::bind);
+        }
+        return predicate;
+    }
+
+    boolean appliesTo(Class<?> type) {
+        try {
+            predicateFor(type);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
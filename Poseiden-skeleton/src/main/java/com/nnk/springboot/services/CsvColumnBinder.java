@@ -0,0 +1,85 @@
+package com.nnk.springboot.services;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps CSV columns onto the bean properties of the same name. Setters and target types are
+ * resolved once from the header so that binding a row costs a conversion and a setter call per field.
+ */
+public class CsvColumnBinder<T> {
+    private static final ConversionService CONVERSION_SERVICE = DefaultConversionService.getSharedInstance();
+
+    private final Class<T> type;
+    private final String[] columns;
+    private final Method[] setters;
+    private final Class<?>[] targetTypes;
+    private final List<String> ignoredColumns = new ArrayList<>();
+
+    /**
+     * @param header         column names of the file
+     * @param excludedFields properties that must not be bound from the file, such as generated ids
+     */
+    public CsvColumnBinder(Class<T> type, String[] header, String... excludedFields) {
+        this.type = type;
+        this.columns = new String[header.length];
+        this.setters = new Method[header.length];
+        this.targetTypes = new Class<?>[header.length];
+        for (int i = 0; i < header.length; i++) {
+            columns[i] = header[i].trim();
+            PropertyDescriptor descriptor = findProperty(columns[i], excludedFields);
+            if (descriptor == null) {
+                ignoredColumns.add(columns[i]);
+            } else {
+                setters[i] = descriptor.getWriteMethod();
+                targetTypes[i] = descriptor.getPropertyType();
+            }
+        }
+    }
+
+    public List<String> getIgnoredColumns() {
+        return ignoredColumns;
+    }
+
+    /**
+     * @throws IllegalArgumentException when a value cannot be converted to the property type
+     */
+    public T bind(String[] row) {
+        T bean = BeanUtils.instantiateClass(type);
+        for (int i = 0; i < setters.length && i < row.length; i++) {
+            Method setter = setters[i];
+            if (setter == null || row[i].isEmpty()) {
+                continue;
+            }
+            try {
+                setter.invoke(bean, CONVERSION_SERVICE.convert(row[i].trim(), targetTypes[i]));
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot set " + setter.getName(), e);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid value '" + row[i] + "' for column " + columns[i], e);
+            }
+        }
+        return bean;
+    }
+
+    private PropertyDescriptor findProperty(String column, String[] excludedFields) {
+        for (String excluded : excludedFields) {
+            if (excluded.equalsIgnoreCase(column)) {
+                return null;
+            }
+        }
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(type)) {
+            if (descriptor.getWriteMethod() != null && descriptor.getName().equalsIgnoreCase(column)) {
+                return descriptor;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,149 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk loads CSV files row by row. Rows are validated with the same constraints as the forms and
+ * persisted in JDBC batches of {@code hibernate.jdbc.batch_size}, one transaction per batch, so a bad
+ * batch only rejects its own rows and the persistence context never grows beyond one batch.
+ */
+@Service
+public class CsvImportService {
+    private static final Logger logger = LoggerFactory.getLogger(CsvImportService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private Validator validator;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int batchSize;
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Autowired
+    private PositionService positionService;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ImportReport importBids(String fileName, InputStream in) throws IOException {
+        return importCsv(BidList.class, fileName, in, batch -> { }, "bidListId", "markPrice", "markValue", "markDate");
+    }
+
+    public ImportReport importTrades(String fileName, InputStream in) throws IOException {
+        return importCsv(Trade.class, fileName, in, positionService::tradesAdded, "tradeId");
+    }
+
+    /**
+     * @param committed called with each batch once its transaction has committed
+     * @param excludedFields generated properties the file must not set, such as the id or the bid marks
+     */
+    <T> ImportReport importCsv(Class<T> type, String fileName, InputStream in, Consumer<List<T>> committed,
+                               String... excludedFields) throws IOException {
+        long start = System.currentTimeMillis();
+        ImportReport report = new ImportReport(fileName, maxReportedErrors);
+        try (CsvReader reader = new CsvReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), ',')) {
+            String[] header = reader.next();
+            if (header == null) {
+                report.rejected(0, 1, "Empty file");
+                return report;
+            }
+            CsvColumnBinder<T> binder = new CsvColumnBinder<>(type, header, excludedFields);
+            report.setIgnoredColumns(binder.getIgnoredColumns());
+
+            List<T> batch = new ArrayList<>(batchSize);
+            long firstRecord = 0;
+            String[] row;
+            while ((row = reader.next()) != null) {
+                report.rowRead();
+                long record = reader.getRecordNumber();
+                T entity;
+                try {
+                    entity = binder.bind(row);
+                } catch (IllegalArgumentException e) {
+                    report.rejected(record, e.getMessage());
+                    continue;
+                }
+                Set<ConstraintViolation<T>> violations = validator.validate(entity);
+                if (!violations.isEmpty()) {
+                    report.rejected(record, violations.stream()
+                            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                            .collect(Collectors.joining(", ")));
+                    continue;
+                }
+                if (batch.isEmpty()) {
+                    firstRecord = record;
+                }
+                batch.add(entity);
+                if (batch.size() == batchSize) {
+                    persist(batch, firstRecord, record, report, committed);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                persist(batch, firstRecord, reader.getRecordNumber(), report, committed);
+            }
+        } finally {
+            report.setElapsedMillis(System.currentTimeMillis() - start);
+        }
+        logger.info("Imported {} of {} {} rows from {} in {} ms", report.getRowsImported(), report.getRowsRead(),
+                type.getSimpleName(), fileName, report.getElapsedMillis());
+        return report;
+    }
+
+    private <T> void persist(List<T> batch, long firstRecord, long lastRecord, ImportReport report,
+                             Consumer<List<T>> committed) {
+        try {
+            transactionTemplate.execute(status -> {
+                // Bulk rows would only churn the second-level cache
+                entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                for (T entity : batch) {
+                    entityManager.persist(entity);
+                }
+                entityManager.flush();
+                return null;
+            });
+            report.imported(batch.size());
+            committed.accept(batch);
+        } catch (RuntimeException e) {
+            logger.warn("Rejected records {} to {}", firstRecord, lastRecord, e);
+            report.rejected(batch.size(), firstRecord,
+                    "Records " + firstRecord + " to " + lastRecord + " not imported: " + e.getMessage());
+        } finally {
+            // Detach the batch even when an open-in-view entity manager outlives the transaction
+            entityManager.clear();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.nnk.springboot.services;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: one record is parsed per call, so files of any size
+ * are read with a constant memory footprint.
+ */
+public class CsvReader implements Closeable {
+    private final Reader reader;
+    private final char separator;
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> record = new ArrayList<>();
+    private int pushedBack = -2;
+    private long recordNumber;
+
+    public CsvReader(Reader reader, char separator) {
+        this.reader = reader;
+        this.separator = separator;
+    }
+
+    /**
+     * @return the fields of the next record, or null at the end of the input
+     */
+    public String[] next() throws IOException {
+        record.clear();
+        field.setLength(0);
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordNumber++;
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field in record " + recordNumber);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == separator) {
+                endField();
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c == '\r') {
+                int next = read();
+                if (next != '\n') {
+                    unread(next);
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+        endField();
+        return record.toArray(new String[0]);
+    }
+
+    /**
+     * @return the 1-based index of the record last returned by {@link #next()}
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void endField() {
+        record.add(field.toString());
+        field.setLength(0);
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
@@ -0,0 +1,44 @@
+package com.nnk.springboot.services;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes RFC 4180 records, quoting only the fields that need it. Counterpart of {@link CsvReader}.
+ */
+public class CsvWriter {
+    private final Writer writer;
+    private final char separator;
+
+    public CsvWriter(Writer writer, char separator) {
+        this.writer = writer;
+        this.separator = separator;
+    }
+
+    public void write(Object[] fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(separator);
+            }
+            if (fields[i] != null) {
+                writeField(fields[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == separator || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,89 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.CurvePointRow;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.nnk.springboot.services.FilterSpecifications.between;
+import static com.nnk.springboot.services.FilterSpecifications.equal;
+import static com.nnk.springboot.services.FilterSpecifications.greaterThan;
+
+/**
+ * CRUD on curve points. Every write is pushed to {@link YieldCurveService} after it is committed so
+ * the in-memory curves stay in step with the table.
+ */
+@Service
+public class CurvePointService {
+    private static final Map<String, String> SORTS = new HashMap<>();
+
+    static {
+        SORTS.put("id", "id");
+        SORTS.put("curve", "curveId");
+        SORTS.put("date", "asOfDate");
+        SORTS.put("term", "term");
+    }
+
+    @Autowired
+    private CurvePointRepository curvePointRepository;
+
+    @Autowired
+    private YieldCurveService yieldCurveService;
+
+    public List<CurvePoint> findAll() {
+        return curvePointRepository.findAll();
+    }
+
+    /**
+     * Filters on curve id and asOfDate range, served by the (curveId, asOfDate) index. Only the listed columns
+     * are read.
+     */
+    public List<CurvePointRow> findAll(ListFilter filter) {
+        Specification<CurvePoint> spec = Specification.<CurvePoint>where(equal("curveId", filter.getCurveId()))
+                .and(between("asOfDate", filter.getFrom(), filter.getTo()));
+        Sort sort = filter.sort(SORTS, "id");
+        return curvePointRepository.findListRows(spec, sort == null ? Sort.by("id") : sort);
+    }
+
+    /**
+     * Like {@link #findAll(ListFilter)}, but in the default id order the rows are read {@code batchSize} at a time
+     * while they are iterated, see {@link StreamedRows}. Other orders are read at once.
+     */
+    public Iterable<CurvePointRow> findAll(ListFilter filter, int batchSize, Runnable beforeBatch) {
+        Sort sort = filter.sort(SORTS, "id");
+        if (sort != null && !sort.equals(Sort.by("id"))) {
+            return findAll(filter);
+        }
+        Specification<CurvePoint> spec = Specification.<CurvePoint>where(equal("curveId", filter.getCurveId()))
+                .and(between("asOfDate", filter.getFrom(), filter.getTo()));
+        return new StreamedRows<>(lastId -> curvePointRepository.findSlice(spec.and(greaterThan("id", lastId)),
+                PageRequest.of(0, batchSize, Sort.by("id")), CurvePointRow.class, "id", "curveId", "term", "value")
+                .getContent(), CurvePointRow::getId, batchSize, beforeBatch);
+    }
+
+    public CurvePoint findById(Long id) {
+        return curvePointRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Invalid curvePoint Id:" + id));
+    }
+
+    public CurvePoint save(CurvePoint curvePoint) {
+        Integer previousCurveId = curvePoint.getId() == null ? null
+                : curvePointRepository.findById(curvePoint.getId()).map(CurvePoint::getCurveId).orElse(null);
+        CurvePoint saved = curvePointRepository.save(curvePoint);
+        yieldCurveService.pointSaved(previousCurveId, saved);
+        return saved;
+    }
+
+    public void delete(Long id) {
+        CurvePoint curvePoint = findById(id);
+        curvePointRepository.delete(curvePoint);
+        yieldCurveService.pointDeleted(curvePoint);
+    }
+}
@@ -0,0 +1,231 @@
+package com.nnk.springboot.services;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+/**
+ * Memory-mapped file of the daily snapshots of one curve, read without copying: the as-of dates, the offset of
+ * each snapshot and the term and value columns are views over the mapping.
+ * <p>
+ * Layout, little-endian: a 32-byte header (magic, version, curveId, snapshot count, point count, padding), then
+ * one long per snapshot holding its as-of date in epoch millis, one long per snapshot plus one holding the index
+ * of its first point, then the terms and the values of all points as two double columns. Snapshots are in
+ * increasing date order and the terms of a snapshot strictly increase.
+ */
+public final class CurveSnapshotFile {
+    private static final int MAGIC = 0x43525653; // "CRVS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+
+    private final int curveId;
+    private final LongBuffer asOfDates;
+    private final LongBuffer offsets;
+    private final DoubleBuffer terms;
+    private final DoubleBuffer values;
+
+    private CurveSnapshotFile(ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a curve snapshot file");
+        }
+        curveId = buffer.getInt(8);
+        int snapshots = buffer.getInt(12);
+        int points = (int) buffer.getLong(16);
+        int position = HEADER_BYTES;
+        asOfDates = slice(buffer, position, snapshots * 8).asLongBuffer();
+        position += snapshots * 8;
+        offsets = slice(buffer, position, (snapshots + 1) * 8).asLongBuffer();
+        position += (snapshots + 1) * 8;
+        terms = slice(buffer, position, points * 8).asDoubleBuffer();
+        position += points * 8;
+        values = slice(buffer, position, points * 8).asDoubleBuffer();
+    }
+
+    /**
+     * Maps the file; the mapping stays valid after the channel is closed and is released with this object.
+     */
+    public static CurveSnapshotFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new CurveSnapshotFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public int getCurveId() {
+        return curveId;
+    }
+
+    /**
+     * @return the number of snapshots
+     */
+    public int size() {
+        return asOfDates.limit();
+    }
+
+    public int pointCount() {
+        return terms.limit();
+    }
+
+    public Timestamp getAsOfDate(int snapshot) {
+        return new Timestamp(asOfDates.get(snapshot));
+    }
+
+    /**
+     * @return the snapshot taken at exactly this date, or {@code -(insertion point) - 1} like
+     * {@link Arrays#binarySearch(long[], long)}
+     */
+    public int indexOf(Timestamp asOfDate) {
+        long key = asOfDate.getTime();
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long date = asOfDates.get(mid);
+            if (date < key) {
+                low = mid + 1;
+            } else if (date > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Linear interpolation straight from the mapped columns, with flat extrapolation like {@link YieldCurve}.
+     */
+    public double linear(int snapshot, double term) {
+        int from = (int) offsets.get(snapshot);
+        int to = (int) offsets.get(snapshot + 1);
+        if (from == to) {
+            throw new IllegalStateException("Snapshot " + snapshot + " of curve " + curveId + " has no points");
+        }
+        if (term <= terms.get(from)) {
+            return values.get(from);
+        }
+        if (term >= terms.get(to - 1)) {
+            return values.get(to - 1);
+        }
+        int low = from;
+        int high = to - 1;
+        // Invariant: terms[low] < term < terms[high]
+        while (high - low > 1) {
+            int mid = (low + high) >>> 1;
+            if (terms.get(mid) <= term) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        double weight = (term - terms.get(low)) / (terms.get(high) - terms.get(low));
+        return values.get(low) + weight * (values.get(high) - values.get(low));
+    }
+
+    /**
+     * Copies one snapshot into a {@link YieldCurve}, for spline interpolation or repeated use.
+     */
+    public YieldCurve curve(int snapshot) {
+        int from = (int) offsets.get(snapshot);
+        int count = (int) offsets.get(snapshot + 1) - from;
+        double[] snapshotTerms = new double[count];
+        double[] snapshotValues = new double[count];
+        ((DoubleBuffer) terms.duplicate().position(from)).get(snapshotTerms);
+        ((DoubleBuffer) values.duplicate().position(from)).get(snapshotValues);
+        return new YieldCurve(curveId, snapshotTerms, snapshotValues);
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int position, int length) {
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(position).limit(position + length);
+        return duplicate.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Collects points in (asOfDate, term) order and writes them as a snapshot file. When a date has several
+     * points with the same term, the last one added wins.
+     */
+    static final class Builder {
+        private final int curveId;
+        private long[] dates = new long[16];
+        private long[] starts = new long[17];
+        private double[] pointTerms = new double[256];
+        private double[] pointValues = new double[256];
+        private int snapshots;
+        private int points;
+
+        Builder(int curveId) {
+            this.curveId = curveId;
+        }
+
+        Builder add(long asOfDate, double term, double value) {
+            if (snapshots == 0 || asOfDate != dates[snapshots - 1]) {
+                if (snapshots > 0 && asOfDate < dates[snapshots - 1]) {
+                    throw new IllegalArgumentException("Points must come in increasing asOfDate order");
+                }
+                if (snapshots == dates.length) {
+                    dates = Arrays.copyOf(dates, snapshots * 2);
+                    starts = Arrays.copyOf(starts, snapshots * 2 + 1);
+                }
+                dates[snapshots] = asOfDate;
+                starts[snapshots] = points;
+                snapshots++;
+            } else if (term == pointTerms[points - 1]) {
+                pointValues[points - 1] = value;
+                return this;
+            } else if (term < pointTerms[points - 1]) {
+                throw new IllegalArgumentException("Points of a date must come in increasing term order");
+            }
+            if (points == pointTerms.length) {
+                pointTerms = Arrays.copyOf(pointTerms, points * 2);
+                pointValues = Arrays.copyOf(pointValues, points * 2);
+            }
+            pointTerms[points] = term;
+            pointValues[points] = value;
+            points++;
+            return this;
+        }
+
+        /**
+         * Writes to a temporary file next to the target and moves it into place, so readers never map a
+         * partial file.
+         */
+        void write(Path file) throws IOException {
+            long size = HEADER_BYTES + 8L * snapshots + 8L * (snapshots + 1) + 16L * points;
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                    buffer.order(ByteOrder.LITTLE_ENDIAN);
+                    buffer.putInt(MAGIC).putInt(VERSION).putInt(curveId).putInt(snapshots).putLong(points).putLong(0);
+                    for (int i = 0; i < snapshots; i++) {
+                        buffer.putLong(dates[i]);
+                    }
+                    for (int i = 0; i < snapshots; i++) {
+                        buffer.putLong(starts[i]);
+                    }
+                    buffer.putLong(points);
+                    buffer.asDoubleBuffer().put(pointTerms, 0, points);
+                    buffer.position(buffer.position() + 8 * points);
+                    buffer.asDoubleBuffer().put(pointValues, 0, points);
+                    buffer.force();
+                }
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+}
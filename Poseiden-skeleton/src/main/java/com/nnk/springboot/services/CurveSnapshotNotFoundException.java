@@ -0,0 +1,20 @@
+package com.nnk.springboot.services;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.sql.Timestamp;
+
+/**
+ * The curve has no exported snapshot file, or none taken early enough for the requested date.
+ */
+@ResponseStatus(value = HttpStatus.NOT_FOUND, reason = "No snapshot of this curve")
+public class CurveSnapshotNotFoundException extends RuntimeException {
+    public CurveSnapshotNotFoundException(int curveId) {
+        super("No snapshots of curve " + curveId + ", export them first");
+    }
+
+    public CurveSnapshotNotFoundException(int curveId, Timestamp asOfDate) {
+        super("No snapshot of curve " + curveId + " on or before " + asOfDate);
+    }
+}
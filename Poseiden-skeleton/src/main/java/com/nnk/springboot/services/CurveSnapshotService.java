@@ -0,0 +1,75 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.CurveSnapshotRow;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exports the historical points of a curve to a {@link CurveSnapshotFile}, one snapshot per asOfDate, and
+ * serves the mapped files to backtests so they do not page through the curvepoint table. Points without an
+ * asOfDate are not part of any snapshot; within a date, the point with the highest id wins for each term.
+ */
+@Service
+public class CurveSnapshotService {
+    private static final Logger logger = LoggerFactory.getLogger(CurveSnapshotService.class);
+
+    @Autowired
+    private CurvePointRepository curvePointRepository;
+
+    @Value("${app.curves.snapshot-dir:snapshots}")
+    private String snapshotDir;
+
+    private final ConcurrentHashMap<Integer, CurveSnapshotFile> opened = new ConcurrentHashMap<>();
+
+    /**
+     * Writes (or replaces) the snapshot file of the curve; files already opened for it are dropped.
+     */
+    public CurveSnapshotFile export(int curveId) {
+        CurveSnapshotFile.Builder builder = new CurveSnapshotFile.Builder(curveId);
+        for (CurveSnapshotRow point : curvePointRepository.findSnapshotPoints(curveId)) {
+            builder.add(point.getAsOfDate().getTime(), point.getTerm(), point.getValue());
+        }
+        Path file = file(curveId);
+        try {
+            builder.write(file);
+            CurveSnapshotFile snapshots = CurveSnapshotFile.open(file);
+            opened.put(curveId, snapshots);
+            logger.info("Exported {} snapshots ({} points) of curve {} to {}",
+                    snapshots.size(), snapshots.pointCount(), curveId, file);
+            return snapshots;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot export snapshots of curve " + curveId, e);
+        }
+    }
+
+    /**
+     * @return the mapped snapshots of the curve, as last exported
+     * @throws CurveSnapshotNotFoundException if the curve was never exported
+     */
+    public CurveSnapshotFile open(int curveId) {
+        return opened.computeIfAbsent(curveId, id -> {
+            try {
+                return CurveSnapshotFile.open(file(id));
+            } catch (NoSuchFileException e) {
+                throw new CurveSnapshotNotFoundException(id);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open snapshots of curve " + id, e);
+            }
+        });
+    }
+
+    private Path file(int curveId) {
+        return Paths.get(snapshotDir, "curve-" + curveId + ".snap");
+    }
+}
@@ -0,0 +1,42 @@
+package com.nnk.springboot.services;
+
+import java.sql.Timestamp;
+
+/**
+ * Summary of the snapshot file of a curve, returned by the snapshot endpoints.
+ */
+public class CurveSnapshotStatus {
+    private final int curveId;
+    private final int snapshots;
+    private final int points;
+    private final Timestamp firstAsOfDate;
+    private final Timestamp lastAsOfDate;
+
+    public CurveSnapshotStatus(CurveSnapshotFile file) {
+        this.curveId = file.getCurveId();
+        this.snapshots = file.size();
+        this.points = file.pointCount();
+        this.firstAsOfDate = file.size() == 0 ? null : file.getAsOfDate(0);
+        this.lastAsOfDate = file.size() == 0 ? null : file.getAsOfDate(file.size() - 1);
+    }
+
+    public int getCurveId() {
+        return curveId;
+    }
+
+    public int getSnapshots() {
+        return snapshots;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public Timestamp getFirstAsOfDate() {
+        return firstAsOfDate;
+    }
+
+    public Timestamp getLastAsOfDate() {
+        return lastAsOfDate;
+    }
+}
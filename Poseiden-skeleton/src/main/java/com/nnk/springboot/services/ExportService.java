@@ -0,0 +1,109 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ReflectionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables out as CSV or NDJSON. Rows come from a forward-only, read-only cursor and
+ * each entity is detached once written, so heap use stays flat regardless of the table size.
+ */
+@Service
+public class ExportService {
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private BidListRepository bidListRepository;
+    @Autowired
+    private TradeRepository tradeRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportBids(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<BidList> rows = bidListRepository.streamAll()) {
+            return export(BidList.class, rows, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportTrades(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Trade> rows = tradeRepository.streamAll()) {
+            return export(Trade.class, rows, format, out);
+        }
+    }
+
+    private <T> long export(Class<T> type, Stream<T> rows, ExportFormat format, OutputStream out) throws IOException {
+        Iterator<T> iterator = rows.iterator();
+        long count = 0;
+        if (format == ExportFormat.NDJSON) {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                generator.writeObject(row);
+                generator.writeRaw('\n');
+                entityManager.detach(row);
+                count++;
+            }
+            generator.flush();
+            return count;
+        }
+
+        List<Field> fields = columns(type);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        CsvWriter csv = new CsvWriter(writer, ',');
+        Object[] values = new Object[fields.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = fields.get(i).getName();
+        }
+        csv.write(values);
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            for (int i = 0; i < values.length; i++) {
+                values[i] = ReflectionUtils.getField(fields.get(i), row);
+            }
+            csv.write(values);
+            entityManager.detach(row);
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Persistent fields in declaration order, which gives the same column names the import accepts.
+     */
+    private static List<Field> columns(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                ReflectionUtils.makeAccessible(field);
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+}
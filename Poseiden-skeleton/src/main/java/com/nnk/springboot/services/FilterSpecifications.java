@@ -0,0 +1,72 @@
+package com.nnk.springboot.services;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.criteria.Predicate;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Building blocks of the list filters. Each returns null when its value is blank, and
+ * {@link Specification#and} skips null specifications, so only the filters actually given reach the SQL.
+ */
+final class FilterSpecifications {
+
+    private FilterSpecifications() {
+    }
+
+    static <T> Specification<T> equal(String attribute, Object value) {
+        if (value == null || value instanceof String && !StringUtils.hasText((String) value)) {
+            return null;
+        }
+        return (root, query, builder) -> builder.equal(root.get(attribute), value);
+    }
+
+    static <T> Specification<T> lessThan(String attribute, Long value) {
+        return (root, query, builder) -> builder.lessThan(root.<Long>get(attribute), value);
+    }
+
+    static <T> Specification<T> greaterThan(String attribute, Long value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, builder) -> builder.greaterThan(root.<Long>get(attribute), value);
+    }
+
+    /**
+     * Days from and to are both included; either end may be open.
+     */
+    static <T> Specification<T> between(String attribute, LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, builder) -> {
+            Predicate after = from == null ? null
+                    : builder.greaterThanOrEqualTo(root.<Timestamp>get(attribute), Timestamp.valueOf(from.atStartOfDay()));
+            Predicate before = to == null ? null
+                    : builder.lessThan(root.<Timestamp>get(attribute), Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+            return after == null ? before : before == null ? after : builder.and(after, before);
+        };
+    }
+
+    /**
+     * Case-insensitive substring match on any of the attributes. A leading wildcard cannot use an index, so this
+     * is meant to narrow rows already selected by the indexed filters.
+     */
+    static <T> Specification<T> contains(String text, String... attributes) {
+        if (!StringUtils.hasText(text)) {
+            return null;
+        }
+        String pattern = "%" + text.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, builder) -> {
+            Predicate[] matches = new Predicate[attributes.length];
+            for (int i = 0; i < attributes.length; i++) {
+                matches[i] = builder.like(builder.lower(root.<String>get(attributes[i])), pattern, '\\');
+            }
+            return builder.or(matches);
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package com.nnk.springboot.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: counters for the whole file and the first rejected records with their reason.
+ */
+public class ImportReport {
+    private final String fileName;
+    private final int maxErrors;
+    private final List<RowError> errors = new ArrayList<>();
+    private List<String> ignoredColumns = new ArrayList<>();
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private long elapsedMillis;
+
+    public ImportReport(String fileName, int maxErrors) {
+        this.fileName = fileName;
+        this.maxErrors = maxErrors;
+    }
+
+    void rowRead() {
+        rowsRead++;
+    }
+
+    void imported(int rows) {
+        rowsImported += rows;
+    }
+
+    void rejected(long record, String message) {
+        rejected(1, record, message);
+    }
+
+    void rejected(int rows, long record, String message) {
+        rowsRejected += rows;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(record, message));
+        }
+    }
+
+    void setIgnoredColumns(List<String> ignoredColumns) {
+        this.ignoredColumns = ignoredColumns;
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return elapsedMillis == 0 ? rowsImported : rowsImported * 1000 / elapsedMillis;
+    }
+
+    public List<String> getIgnoredColumns() {
+        return ignoredColumns;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public static class RowError {
+        private final long record;
+        private final String message;
+
+        RowError(long record, String message) {
+            this.record = record;
+            this.message = message;
+        }
+
+        public long getRecord() {
+            return record;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
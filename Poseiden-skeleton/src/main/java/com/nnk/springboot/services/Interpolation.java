@@ -0,0 +1,6 @@
+package com.nnk.springboot.services;
+
+public enum Interpolation {
+    LINEAR,
+    CUBIC_SPLINE
+}
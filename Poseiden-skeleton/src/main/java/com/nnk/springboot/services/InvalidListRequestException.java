@@ -0,0 +1,19 @@
+package com.nnk.springboot.services;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A list request with a sort or a page token this list cannot serve: an unknown sort column, a token that does
+ * not decode, or a page number out of range.
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "Invalid sort or page token")
+public class InvalidListRequestException extends IllegalArgumentException {
+    public InvalidListRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidListRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,34 @@
+package com.nnk.springboot.services;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list, with the opaque token to request the next one.
+ */
+public class KeysetPage<T> {
+    private final List<T> content;
+    private final int size;
+    private final String nextToken;
+
+    public KeysetPage(List<T> content, int size, String nextToken) {
+        this.content = content;
+        this.size = size;
+        this.nextToken = nextToken;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+}
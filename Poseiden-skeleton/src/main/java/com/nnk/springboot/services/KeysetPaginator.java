@@ -0,0 +1,110 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.repositories.FilterableRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Runs keyset ("seek") queries over descending ids so that each list page only reads
+ * the rows it displays, whatever the size of the table. Lists sorted on another column fall back to offset
+ * slices; neither kind of page runs a count query.
+ */
+@Component
+public class KeysetPaginator {
+    @Value("${app.pagination.default-size:50}")
+    private int defaultSize;
+    @Value("${app.pagination.max-size:500}")
+    private int maxSize;
+
+    /**
+     * @param token opaque token returned by a previous page, or null for the first page
+     * @param size  requested page size, clamped to the configured maximum
+     * @param query repository query returning rows with an id lower than the given cursor, newest first
+     * @param idOf  id accessor used to build the next token
+     */
+    public <T> KeysetPage<T> page(String token, Integer size, BiFunction<Long, Pageable, List<T>> query,
+                                  Function<T, Long> idOf) {
+        int pageSize = resolveSize(size);
+        // Fetch one extra row to know whether a next page exists without a count query
+        List<T> rows = query.apply(decode(token), PageRequest.of(0, pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, pageSize, null);
+        }
+        List<T> content = rows.subList(0, pageSize);
+        return new KeysetPage<>(content, pageSize, encode(idOf.apply(content.get(pageSize - 1))));
+    }
+
+    /**
+     * Pages through the rows matching a filter: by keyset in the default newest-first order, by offset slices in
+     * any other order (the token then holds the next page number).
+     *
+     * @param spec        filter, null for all rows
+     * @param sort        requested order, null for newest first
+     * @param idAttribute name of the id attribute
+     * @param query       slice query of the repository, such as {@link FilterableRepository#findSlice}
+     * @param idOf        id accessor of the rows
+     */
+    public <T, R> KeysetPage<R> page(String token, Integer size, @Nullable Specification<T> spec, @Nullable Sort sort,
+                                     String idAttribute, BiFunction<Specification<T>, Pageable, Slice<R>> query,
+                                     Function<R, Long> idOf) {
+        if (sort == null) {
+            Sort newestFirst = Sort.by(Sort.Direction.DESC, idAttribute);
+            return page(token, size, (cursor, pageable) -> query.apply(
+                    Specification.where(spec).and(FilterSpecifications.lessThan(idAttribute, cursor)),
+                    PageRequest.of(0, pageable.getPageSize(), newestFirst)).getContent(), idOf);
+        }
+        int pageSize = resolveSize(size);
+        int pageNumber = token == null || token.isEmpty() ? 0 : pageNumber(token, pageSize);
+        Slice<R> slice = query.apply(spec, PageRequest.of(pageNumber, pageSize, sort));
+        return new KeysetPage<>(slice.getContent(), pageSize, slice.hasNext() ? encode(pageNumber + 1L) : null);
+    }
+
+    /**
+     * @throws InvalidListRequestException unless the token holds a page whose first row offset fits in an int
+     */
+    private static int pageNumber(String token, int pageSize) {
+        long pageNumber = decode(token);
+        if (pageNumber < 0 || pageNumber > Integer.MAX_VALUE / pageSize) {
+            throw new InvalidListRequestException("Invalid page token:" + token);
+        }
+        return (int) pageNumber;
+    }
+
+    int resolveSize(Integer size) {
+        if (size == null || size < 1) {
+            return defaultSize;
+        }
+        return Math.min(size, maxSize);
+    }
+
+    static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws InvalidListRequestException if the token was not returned by {@link #encode}
+     */
+    static Long decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidListRequestException("Invalid page token:" + token, e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.nnk.springboot.services;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Filter and sort parameters of the list screens, bound from the query string. Blank values mean "no
+ * filter"; each list only reads the fields that apply to its entity.
+ */
+public class ListFilter {
+    private String account;
+    private String type;
+    private String status;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+    private Integer curveId;
+    private String q;
+    private String sort;
+    private String dir;
+
+    public String getAccount() {
+        return account;
+    }
+
+    public void setAccount(String account) {
+        this.account = account;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    /**
+     * @return first day of the date range, inclusive
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    /**
+     * @return last day of the date range, inclusive
+     */
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public Integer getCurveId() {
+        return curveId;
+    }
+
+    public void setCurveId(Integer curveId) {
+        this.curveId = curveId;
+    }
+
+    /**
+     * @return free text searched in the descriptive columns
+     */
+    public String getQ() {
+        return q;
+    }
+
+    public void setQ(String q) {
+        this.q = q;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public String getDir() {
+        return dir;
+    }
+
+    public void setDir(String dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * @return true when no filter nor sort is given
+     */
+    public boolean isEmpty() {
+        return !StringUtils.hasText(account) && !StringUtils.hasText(type) && !StringUtils.hasText(status)
+                && from == null && to == null && curveId == null && !StringUtils.hasText(q) && !StringUtils.hasText(sort);
+    }
+
+    /**
+     * @param columns sortable parameter values and the attribute each one sorts on
+     * @param id      id attribute, the tie-breaker that keeps pages stable
+     * @return the requested order, or null for the default newest-first order
+     * @throws InvalidListRequestException if the list cannot be sorted on the requested column
+     */
+    Sort sort(Map<String, String> columns, String id) {
+        if (!StringUtils.hasText(sort)) {
+            return null;
+        }
+        String attribute = columns.get(sort);
+        if (attribute == null) {
+            throw new InvalidListRequestException("Invalid sort:" + sort);
+        }
+        Sort.Direction direction = "desc".equalsIgnoreCase(dir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return attribute.equals(id) ? Sort.by(direction, id) : Sort.by(direction, attribute).and(Sort.by(direction, id));
+    }
+}
@@ -0,0 +1,54 @@
+package com.nnk.springboot.services;
+
+/**
+ * Snapshot of an aggregated position: quantities and notionals (quantity x price) bought and sold.
+ */
+public class Position {
+    public static final Position EMPTY = new Position(0, 0, 0, 0, 0);
+
+    private final double buyQuantity;
+    private final double sellQuantity;
+    private final double buyNotional;
+    private final double sellNotional;
+    private final long tradeCount;
+
+    public Position(double buyQuantity, double sellQuantity, double buyNotional, double sellNotional, long tradeCount) {
+        this.buyQuantity = buyQuantity;
+        this.sellQuantity = sellQuantity;
+        this.buyNotional = buyNotional;
+        this.sellNotional = sellNotional;
+        this.tradeCount = tradeCount;
+    }
+
+    public double getBuyQuantity() {
+        return buyQuantity;
+    }
+
+    public double getSellQuantity() {
+        return sellQuantity;
+    }
+
+    public double getNetQuantity() {
+        return buyQuantity - sellQuantity;
+    }
+
+    public double getBuyNotional() {
+        return buyNotional;
+    }
+
+    public double getSellNotional() {
+        return sellNotional;
+    }
+
+    public double getAverageBuyPrice() {
+        return buyQuantity == 0 ? 0 : buyNotional / buyQuantity;
+    }
+
+    public double getAverageSellPrice() {
+        return sellQuantity == 0 ? 0 : sellNotional / sellQuantity;
+    }
+
+    public long getTradeCount() {
+        return tradeCount;
+    }
+}
@@ -0,0 +1,239 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.Trade;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Net positions per account/book/security, with running rollups per book and per account, kept in memory so a
+ * position query is a hash lookup instead of a pass over the trade table.
+ * <p>
+ * Account, book and security values are mapped to 21-bit ids packed into one long key. The aggregates are
+ * rebuilt from the table with a parallel scan of tradeId ranges when the application starts, then adjusted by
+ * {@link TradeService} and {@link CsvImportService} on every committed trade insert, update and delete.
+ */
+@Service
+public class PositionService implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(PositionService.class);
+
+    private static final int ID_BITS = 21;
+    private static final int MAX_ID = (1 << ID_BITS) - 1;
+    private static final int NULL_ID = 0;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.positions.stripes:64}")
+    private int stripes;
+
+    @Value("${app.positions.rebuild-threads:0}")
+    private int rebuildThreads;
+
+    @Value("${app.positions.rebuild-chunk-size:50000}")
+    private int rebuildChunkSize;
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(NULL_ID);
+    private StripedPositionMap positions;
+    private StripedPositionMap books;
+    private StripedPositionMap accounts;
+
+    @PostConstruct
+    public void init() {
+        positions = new StripedPositionMap(stripes);
+        books = new StripedPositionMap(stripes);
+        accounts = new StripedPositionMap(stripes);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public Position position(String account, String book, String security) {
+        Integer accountId = existingId(account);
+        Integer bookId = existingId(book);
+        Integer securityId = existingId(security);
+        if (accountId == null || bookId == null || securityId == null) {
+            return Position.EMPTY;
+        }
+        return positions.get(key(accountId, bookId, securityId));
+    }
+
+    public Position bookPosition(String book) {
+        Integer bookId = existingId(book);
+        return bookId == null ? Position.EMPTY : books.get(bookId);
+    }
+
+    public Position accountPosition(String account) {
+        Integer accountId = existingId(account);
+        return accountId == null ? Position.EMPTY : accounts.get(accountId);
+    }
+
+    /**
+     * Replaces a trade's previous contribution, if any, by its saved state.
+     */
+    void tradeSaved(Contribution previous, Trade saved) {
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        apply(Contribution.of(saved), 1);
+    }
+
+    void tradeDeleted(Contribution deleted) {
+        apply(deleted, -1);
+    }
+
+    void tradesAdded(List<Trade> trades) {
+        for (Trade trade : trades) {
+            apply(Contribution.of(trade), 1);
+        }
+    }
+
+    /**
+     * Recomputes every aggregate from the trade table. Trades written while the scan runs may be counted twice
+     * or not at all, so this is meant for startup or a quiet period.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        positions.clear();
+        books.clear();
+        accounts.clear();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        Object[] range = transactionTemplate.execute(status -> (Object[]) entityManager
+                .createQuery("select min(t.tradeId), max(t.tradeId) from Trade t").getSingleResult());
+        if (range == null || range[0] == null) {
+            return;
+        }
+        long min = ((Number) range[0]).longValue();
+        long max = ((Number) range[1]).longValue();
+
+        int threads = rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicInteger scanned = new AtomicInteger();
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (long from = min; from <= max; from += rebuildChunkSize) {
+                long to = Math.min(max + 1, from + rebuildChunkSize);
+                long chunkFrom = from;
+                chunks.add(executor.submit(() -> transactionTemplate.execute(status -> {
+                    List<?> rows = entityManager.createQuery("select t.account, t.book, t.security, t.buyQuantity,"
+                            + " t.sellQuantity, t.buyPrice, t.sellPrice from Trade t"
+                            + " where t.tradeId >= :from and t.tradeId < :to")
+                            .setParameter("from", chunkFrom)
+                            .setParameter("to", to)
+                            .getResultList();
+                    for (Object row : rows) {
+                        Object[] columns = (Object[]) row;
+                        apply(new Contribution((String) columns[0], (String) columns[1], (String) columns[2],
+                                (Double) columns[3], (Double) columns[4], (Double) columns[5], (Double) columns[6]), 1);
+                    }
+                    scanned.addAndGet(rows.size());
+                    return null;
+                })));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Position rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Position rebuild failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        logger.info("Rebuilt {} positions from {} trades with {} threads in {} ms", positions.size(), scanned.get(),
+                threads, System.currentTimeMillis() - start);
+    }
+
+    private void apply(Contribution contribution, int sign) {
+        int accountId = id(contribution.account);
+        int bookId = id(contribution.book);
+        int securityId = id(contribution.security);
+        double buyQuantity = sign * contribution.buyQuantity;
+        double sellQuantity = sign * contribution.sellQuantity;
+        double buyNotional = sign * contribution.buyQuantity * contribution.buyPrice;
+        double sellNotional = sign * contribution.sellQuantity * contribution.sellPrice;
+        positions.add(key(accountId, bookId, securityId), buyQuantity, sellQuantity, buyNotional, sellNotional, sign);
+        books.add(bookId, buyQuantity, sellQuantity, buyNotional, sellNotional, sign);
+        accounts.add(accountId, buyQuantity, sellQuantity, buyNotional, sellNotional, sign);
+    }
+
+    private static long key(int accountId, int bookId, int securityId) {
+        return ((long) accountId << (2 * ID_BITS)) | ((long) bookId << ID_BITS) | securityId;
+    }
+
+    private Integer existingId(String value) {
+        return value == null ? Integer.valueOf(NULL_ID) : ids.get(value);
+    }
+
+    private int id(String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = ids.computeIfAbsent(value, v -> {
+                int next = nextId.incrementAndGet();
+                if (next > MAX_ID) {
+                    throw new IllegalStateException("More than " + MAX_ID + " distinct position keys");
+                }
+                return next;
+            });
+        }
+        return id;
+    }
+
+    /**
+     * The part of a trade that counts towards positions, captured before the entity is changed.
+     */
+    static final class Contribution {
+        final String account;
+        final String book;
+        final String security;
+        final double buyQuantity;
+        final double sellQuantity;
+        final double buyPrice;
+        final double sellPrice;
+
+        Contribution(String account, String book, String security,
+                     Double buyQuantity, Double sellQuantity, Double buyPrice, Double sellPrice) {
+            this.account = account;
+            this.book = book;
+            this.security = security;
+            this.buyQuantity = buyQuantity == null ? 0 : buyQuantity;
+            this.sellQuantity = sellQuantity == null ? 0 : sellQuantity;
+            this.buyPrice = buyPrice == null ? 0 : buyPrice;
+            this.sellPrice = sellPrice == null ? 0 : sellPrice;
+        }
+
+        static Contribution of(Trade trade) {
+            return new Contribution(trade.getAccount(), trade.getBook(), trade.getSecurity(),
+                    trade.getBuyQuantity(), trade.getSellQuantity(), trade.getBuyPrice(), trade.getSellPrice());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.nnk.springboot.services;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A pricing run was requested while another one is still marking bids.
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT, reason = "A pricing run is already in progress")
+public class PricingInProgressException extends RuntimeException {
+    public PricingInProgressException() {
+        super("A pricing run is already in progress");
+    }
+}
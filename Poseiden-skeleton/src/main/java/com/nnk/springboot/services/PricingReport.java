@@ -0,0 +1,150 @@
+package com.nnk.springboot.services;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress and outcome of an end-of-day pricing run. Counters are updated by the pricing threads while the
+ * run is going, so the report of a running job can be polled.
+ */
+public class PricingReport {
+    private final Timestamp markDate;
+    private final int curveId;
+    private final int threads;
+    private final int partitionCount;
+    private final List<PartitionTiming> partitions = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong bidsPriced = new AtomicLong();
+    private final AtomicLong bidsSkipped = new AtomicLong();
+    private final long start = System.currentTimeMillis();
+    private volatile long elapsedMillis = -1;
+    private volatile String error;
+
+    PricingReport(Timestamp markDate, int curveId, int threads, int partitionCount) {
+        this.markDate = markDate;
+        this.curveId = curveId;
+        this.threads = threads;
+        this.partitionCount = partitionCount;
+    }
+
+    void partitionDone(PartitionTiming timing) {
+        bidsPriced.addAndGet(timing.getBidsPriced());
+        bidsSkipped.addAndGet(timing.getBidsSkipped());
+        partitions.add(timing);
+    }
+
+    void finished() {
+        elapsedMillis = System.currentTimeMillis() - start;
+    }
+
+    void failed(Throwable e) {
+        error = e.toString();
+    }
+
+    public Timestamp getMarkDate() {
+        return markDate;
+    }
+
+    public int getCurveId() {
+        return curveId;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public boolean isFinished() {
+        return elapsedMillis >= 0;
+    }
+
+    /**
+     * @return why the run stopped before pricing every partition, null if it did not
+     */
+    public String getError() {
+        return error;
+    }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public int getPartitionsDone() {
+        return partitions.size();
+    }
+
+    public long getBidsPriced() {
+        return bidsPriced.get();
+    }
+
+    public long getBidsSkipped() {
+        return bidsSkipped.get();
+    }
+
+    /**
+     * @return run time so far, or in total once finished
+     */
+    public long getElapsedMillis() {
+        return isFinished() ? elapsedMillis : System.currentTimeMillis() - start;
+    }
+
+    public long getBidsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed == 0 ? getBidsPriced() : getBidsPriced() * 1000 / elapsed;
+    }
+
+    public List<PartitionTiming> getPartitions() {
+        synchronized (partitions) {
+            return new ArrayList<>(partitions);
+        }
+    }
+
+    public static class PartitionTiming {
+        private final long fromId;
+        private final long toId;
+        private final int bidsPriced;
+        private final int bidsSkipped;
+        private final long elapsedMillis;
+        private final String thread;
+
+        PartitionTiming(long fromId, long toId, int bidsPriced, int bidsSkipped, long elapsedMillis, String thread) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.bidsPriced = bidsPriced;
+            this.bidsSkipped = bidsSkipped;
+            this.elapsedMillis = elapsedMillis;
+            this.thread = thread;
+        }
+
+        /**
+         * @return first bidListId of the partition
+         */
+        public long getFromId() {
+            return fromId;
+        }
+
+        /**
+         * @return bidListId following the partition
+         */
+        public long getToId() {
+            return toId;
+        }
+
+        public int getBidsPriced() {
+            return bidsPriced;
+        }
+
+        public int getBidsSkipped() {
+            return bidsSkipped;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+    }
+}
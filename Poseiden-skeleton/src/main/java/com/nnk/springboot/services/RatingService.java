@@ -0,0 +1,65 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.repositories.RatingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.nnk.springboot.services.FilterSpecifications.contains;
+
+/**
+ * Ratings are reference data: reads are served from the "ratings" cache and every write clears it.
+ */
+@Service
+public class RatingService {
+    public static final String CACHE = "ratings";
+
+    private static final Map<String, String> SORTS = new HashMap<>();
+
+    static {
+        SORTS.put("id", "id");
+        SORTS.put("moodys", "moodysRating");
+        SORTS.put("sandP", "sandPRating");
+        SORTS.put("fitch", "fitchRating");
+        SORTS.put("order", "orderNumber");
+    }
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Cacheable(CACHE)
+    public List<Rating> findAll() {
+        return ratingRepository.findAll();
+    }
+
+    /**
+     * Searches the agency ratings in the database; only the unfiltered {@link #findAll()} is cached.
+     */
+    public List<Rating> findAll(ListFilter filter) {
+        Sort sort = filter.sort(SORTS, "id");
+        return ratingRepository.findAll(contains(filter.getQ(), "moodysRating", "sandPRating", "fitchRating"),
+                sort == null ? Sort.by("id") : sort);
+    }
+
+    @Cacheable(value = CACHE, key = "#id")
+    public Rating findById(Long id) {
+        return ratingRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Invalid rating Id:" + id));
+    }
+
+    @CacheEvict(value = CACHE, allEntries = true)
+    public Rating save(Rating rating) {
+        return ratingRepository.save(rating);
+    }
+
+    @CacheEvict(value = CACHE, allEntries = true)
+    public void delete(Long id) {
+        ratingRepository.deleteById(id);
+    }
+}
@@ -0,0 +1,145 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Evaluates the {@code sqlPart} of each {@link RuleName} against bids and trades. A rule is parsed once and
+ * cached by id and source text; {@link RuleNameService} reports every save and delete so only the changed rule
+ * is recompiled. The json, template and sqlStr columns are not evaluated.
+ */
+@Service
+public class RuleEngine {
+    private static final Logger logger = LoggerFactory.getLogger(RuleEngine.class);
+
+    static final Class<?>[] TARGET_TYPES = {BidList.class, Trade.class};
+
+    @Autowired
+    private RuleNameRepository ruleNameRepository;
+
+    private final ConcurrentHashMap<Long, CompiledRule> rules = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Class<?>, RuleSet> ruleSets = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile boolean loaded;
+
+    /**
+     * Parses a rule expression and checks it can be evaluated against a bid or a trade.
+     *
+     * @throws IllegalArgumentException with a message for the user when it cannot
+     */
+    public void validate(String sqlPart) {
+        CompiledRule rule = new CompiledRule(null, null, RuleExpression.parse(sqlPart));
+        for (Class<?> type : TARGET_TYPES) {
+            if (rule.appliesTo(type)) {
+                return;
+            }
+        }
+        // Report the binding error against the first target type
+        rule.predicateFor(TARGET_TYPES[0]);
+    }
+
+    /**
+     * @return the compiled rule, reusing the cached one while its source is unchanged
+     */
+    public CompiledRule compile(RuleName ruleName) {
+        if (ruleName.getId() == null) {
+            return new CompiledRule(null, ruleName.getName(), RuleExpression.parse(ruleName.getSqlPart()));
+        }
+        CompiledRule cached = rules.get(ruleName.getId());
+        if (cached != null && cached.getSource().equals(ruleName.getSqlPart())) {
+            return cached;
+        }
+        CompiledRule compiled = new CompiledRule(ruleName.getId(), ruleName.getName(), RuleExpression.parse(ruleName.getSqlPart()));
+        rules.put(ruleName.getId(), compiled);
+        generation.incrementAndGet();
+        return compiled;
+    }
+
+    public boolean evaluate(RuleName ruleName, Object target) {
+        return compile(ruleName).matches(target);
+    }
+
+    /**
+     * @return ids of the stored rules that apply to the target's type and match it
+     */
+    public List<Long> matchingRuleIds(Object target) {
+        CompiledRule[] candidates = ruleSet(target.getClass());
+        List<Long> matching = new ArrayList<>();
+        for (CompiledRule rule : candidates) {
+            if (rule.predicateFor(target.getClass()).test(target)) {
+                matching.add(rule.getId());
+            }
+        }
+        return matching;
+    }
+
+    void ruleSaved(RuleName ruleName) {
+        if (!StringUtils.hasText(ruleName.getSqlPart())) {
+            ruleDeleted(ruleName.getId());
+            return;
+        }
+        try {
+            compile(ruleName);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rule {} is not evaluated: {}", ruleName.getId(), e.getMessage());
+            ruleDeleted(ruleName.getId());
+        }
+    }
+
+    void ruleDeleted(Long id) {
+        if (rules.remove(id) != null) {
+            generation.incrementAndGet();
+        }
+    }
+
+    private CompiledRule[] ruleSet(Class<?> type) {
+        if (!loaded) {
+            load();
+        }
+        long current = generation.get();
+        RuleSet ruleSet = ruleSets.get(type);
+        if (ruleSet == null || ruleSet.generation != current) {
+            List<CompiledRule> applicable = new ArrayList<>();
+            for (CompiledRule rule : rules.values()) {
+                if (rule.appliesTo(type)) {
+                    applicable.add(rule);
+                }
+            }
+            ruleSet = new RuleSet(current, applicable.toArray(new CompiledRule[0]));
+            ruleSets.put(type, ruleSet);
+        }
+        return ruleSet.rules;
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        for (RuleName ruleName : ruleNameRepository.findAll()) {
+            ruleSaved(ruleName);
+        }
+        loaded = true;
+    }
+
+    private static final class RuleSet {
+        final long generation;
+        final CompiledRule[] rules;
+
+        RuleSet(long generation, CompiledRule[] rules) {
+            this.generation = generation;
+            this.rules = rules;
+        }
+    }
+}
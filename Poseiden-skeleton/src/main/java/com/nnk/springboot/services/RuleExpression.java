@@ -0,0 +1,573 @@
+package com.nnk.springboot.services;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * A rule's {@code sqlPart} parsed once into a predicate tree, e.g.
+ * {@code bidQuantity > 100 AND (status IN ('OPEN', 'NEW') OR account LIKE 'ACC%') AND trader IS NOT NULL}.
+ * <p>
+ * Supports comparisons ({@code = <> != < <= > >=}), {@code [NOT] IN}, {@code [NOT] LIKE}, {@code [NOT] BETWEEN},
+ * {@code IS [NOT] NULL}, {@code AND}, {@code OR}, {@code NOT} and parentheses. Identifiers are bean properties of
+ * the evaluated object, matched case-insensitively; literals are numbers, quoted strings, TRUE, FALSE and NULL.
+ * {@link #bind(Class)} resolves the properties and converts the literals for one target type, so evaluating the
+ * returned predicate does no parsing, lookup or conversion.
+ * <p>
+ * As in SQL, conditions have three values: a comparison involving null is unknown rather than false, NOT, AND and
+ * OR follow SQL's three-valued logic, and a rule only matches when its whole expression is true. So
+ * {@code NOT bid > 5}, {@code account NOT LIKE 'X%'}, {@code NOT IN} and {@code NOT BETWEEN} do not match an
+ * object whose column is null, whereas {@code IS NULL} does. Comparing two properties of unrelated types, such as
+ * {@code account < bidQuantity}, is rejected by {@link #bind(Class)}; other values without a common order compare
+ * as unknown.
+ */
+public final class RuleExpression {
+    private static final ConversionService CONVERSION_SERVICE = DefaultConversionService.getSharedInstance();
+
+    private final String source;
+    private final Condition root;
+
+    private RuleExpression(String source, Condition root) {
+        this.source = source;
+        this.root = root;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the expression is not valid
+     */
+    public static RuleExpression parse(String source) {
+        return new RuleExpression(source, new Parser(source).parse());
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the expression references a property the type does not have, or compares
+     *                                  two properties of unrelated types
+     */
+    public Predicate<Object> bind(Class<?> type) {
+        Function<Object, Boolean> condition = root.bind(type);
+        return object -> condition.apply(object) == Boolean.TRUE;
+    }
+
+    /**
+     * Bound conditions return TRUE, FALSE or null for SQL's UNKNOWN.
+     */
+    private interface Condition {
+        Function<Object, Boolean> bind(Class<?> type);
+    }
+
+    private interface Operand {
+        Function<Object, Object> bind(Class<?> target, Class<?> peerType);
+    }
+
+    private static final class Property implements Operand {
+        private final String name;
+
+        Property(String name) {
+            this.name = name;
+        }
+
+        private PropertyDescriptor descriptor(Class<?> target) {
+            for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(target)) {
+                if (descriptor.getReadMethod() != null && !"class".equals(descriptor.getName())
+                        && descriptor.getName().equalsIgnoreCase(name)) {
+                    return descriptor;
+                }
+            }
+            throw new IllegalArgumentException("Unknown property " + name + " on " + target.getSimpleName());
+        }
+
+        Class<?> type(Class<?> target) {
+            return ClassUtils.resolvePrimitiveIfNecessary(descriptor(target).getPropertyType());
+        }
+
+        @Override
+        public Function<Object, Object> bind(Class<?> target, Class<?> peerType) {
+            Method getter = descriptor(target).getReadMethod();
+            return object -> {
+                try {
+                    return getter.invoke(object);
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new IllegalStateException("Cannot read " + name + " from " + target.getSimpleName(), e);
+                }
+            };
+        }
+    }
+
+    private static final class Literal implements Operand {
+        private final Object value;
+
+        Literal(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Function<Object, Object> bind(Class<?> target, Class<?> peerType) {
+            Object converted = convert(peerType);
+            return object -> converted;
+        }
+
+        Object convert(Class<?> peerType) {
+            if (value == null || peerType == null || peerType.isInstance(value)) {
+                return value;
+            }
+            try {
+                return CONVERSION_SERVICE.convert(value, peerType);
+            } catch (ConversionException e) {
+                throw new IllegalArgumentException("Cannot compare " + peerType.getSimpleName() + " with " + value, e);
+            }
+        }
+    }
+
+    private enum Operator {
+        EQ, NE, LT, LE, GT, GE;
+
+        Boolean test(Object left, Object right) {
+            if (left == null || right == null) {
+                return null;
+            }
+            Integer comparison = compare(left, right);
+            if (comparison == null) {
+                return null;
+            }
+            switch (this) {
+                case EQ:
+                    return comparison == 0;
+                case NE:
+                    return comparison != 0;
+                case LT:
+                    return comparison < 0;
+                case LE:
+                    return comparison <= 0;
+                case GT:
+                    return comparison > 0;
+                default:
+                    return comparison >= 0;
+            }
+        }
+    }
+
+    /**
+     * @return the order of the two values, null when their types have none in common
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Integer compare(Object left, Object right) {
+        if (left instanceof Number && right instanceof Number) {
+            return Double.compare(((Number) left).doubleValue(), ((Number) right).doubleValue());
+        }
+        if (left instanceof Comparable && (left.getClass().isInstance(right) || right.getClass().isInstance(left))) {
+            return ((Comparable) left).compareTo(right);
+        }
+        return null;
+    }
+
+    private static Class<?> peerType(Operand operand, Operand peer, Class<?> target) {
+        return operand instanceof Literal && peer instanceof Property ? ((Property) peer).type(target) : null;
+    }
+
+    private static void checkComparable(Operand left, Operand right, Class<?> target) {
+        if (!(left instanceof Property) || !(right instanceof Property)) {
+            return;
+        }
+        Class<?> leftType = ((Property) left).type(target);
+        Class<?> rightType = ((Property) right).type(target);
+        if (Number.class.isAssignableFrom(leftType) && Number.class.isAssignableFrom(rightType)
+                || leftType.isAssignableFrom(rightType) || rightType.isAssignableFrom(leftType)) {
+            return;
+        }
+        throw new IllegalArgumentException("Cannot compare " + ((Property) left).name + " (" + leftType.getSimpleName()
+                + ") with " + ((Property) right).name + " (" + rightType.getSimpleName() + ")");
+    }
+
+    private static final class Comparison implements Condition {
+        private final Operand left;
+        private final Operator operator;
+        private final Operand right;
+
+        Comparison(Operand left, Operator operator, Operand right) {
+            this.left = left;
+            this.operator = operator;
+            this.right = right;
+        }
+
+        @Override
+        public Function<Object, Boolean> bind(Class<?> type) {
+            checkComparable(left, right, type);
+            Function<Object, Object> l = left.bind(type, peerType(left, right, type));
+            Function<Object, Object> r = right.bind(type, peerType(right, left, type));
+            Operator op = operator;
+            return object -> op.test(l.apply(object), r.apply(object));
+        }
+    }
+
+    private static final class IsNull implements Condition {
+        private final Operand operand;
+
+        IsNull(Operand operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public Function<Object, Boolean> bind(Class<?> type) {
+            Function<Object, Object> value = operand.bind(type, null);
+            return object -> value.apply(object) == null;
+        }
+    }
+
+    private static final class In implements Condition {
+        private final Operand operand;
+        private final List<Operand> candidates;
+
+        In(Operand operand, List<Operand> candidates) {
+            this.operand = operand;
+            this.candidates = candidates;
+        }
+
+        /**
+         * True when a candidate equals the value, else unknown when the value or a candidate is null.
+         */
+        @Override
+        public Function<Object, Boolean> bind(Class<?> type) {
+            Function<Object, Object> value = operand.bind(type, null);
+            List<Function<Object, Object>> bound = new ArrayList<>(candidates.size());
+            for (Operand candidate : candidates) {
+                checkComparable(operand, candidate, type);
+                bound.add(candidate.bind(type, peerType(candidate, operand, type)));
+            }
+            return object -> {
+                Object v = value.apply(object);
+                Boolean result = Boolean.FALSE;
+                for (Function<Object, Object> candidate : bound) {
+                    Boolean equal = Operator.EQ.test(v, candidate.apply(object));
+                    if (equal == Boolean.TRUE) {
+                        return Boolean.TRUE;
+                    }
+                    if (equal == null) {
+                        result = null;
+                    }
+                }
+                return result;
+            };
+        }
+    }
+
+    private static final class Like implements Condition {
+        private final Operand operand;
+        private final Pattern pattern;
+
+        Like(Operand operand, String pattern) {
+            this.operand = operand;
+            StringBuilder regex = new StringBuilder();
+            for (String part : pattern.split("(?<=[%_])|(?=[%_])")) {
+                regex.append("%".equals(part) ? ".*" : "_".equals(part) ? "." : Pattern.quote(part));
+            }
+            this.pattern = Pattern.compile(regex.toString(), Pattern.DOTALL);
+        }
+
+        @Override
+        public Function<Object, Boolean> bind(Class<?> type) {
+            Function<Object, Object> value = operand.bind(type, null);
+            return object -> {
+                Object v = value.apply(object);
+                return v == null ? null : pattern.matcher(v.toString()).matches();
+            };
+        }
+    }
+
+    private static final class Not implements Condition {
+        private final Condition condition;
+
+        Not(Condition condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        public Function<Object, Boolean> bind(Class<?> type) {
+            Function<Object, Boolean> bound = condition.bind(type);
+            return object -> {
+                Boolean value = bound.apply(object);
+                return value == null ? null : !value;
+            };
+        }
+    }
+
+    private static final class And implements Condition {
+        private final Condition left;
+        private final Condition right;
+
+        And(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        /**
+         * False if either side is false, else unknown if either side is unknown.
+         */
+        @Override
+        public Function<Object, Boolean> bind(Class<?> type) {
+            Function<Object, Boolean> l = left.bind(type);
+            Function<Object, Boolean> r = right.bind(type);
+            return object -> {
+                Boolean first = l.apply(object);
+                if (first == Boolean.FALSE) {
+                    return Boolean.FALSE;
+                }
+                Boolean second = r.apply(object);
+                return second == Boolean.FALSE ? Boolean.FALSE : first == null || second == null ? null : Boolean.TRUE;
+            };
+        }
+    }
+
+    private static final class Or implements Condition {
+        private final Condition left;
+        private final Condition right;
+
+        Or(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        /**
+         * True if either side is true, else unknown if either side is unknown.
+         */
+        @Override
+        public Function<Object, Boolean> bind(Class<?> type) {
+            Function<Object, Boolean> l = left.bind(type);
+            Function<Object, Boolean> r = right.bind(type);
+            return object -> {
+                Boolean first = l.apply(object);
+                if (first == Boolean.TRUE) {
+                    return Boolean.TRUE;
+                }
+                Boolean second = r.apply(object);
+                return second == Boolean.TRUE ? Boolean.TRUE : first == null || second == null ? null : Boolean.FALSE;
+            };
+        }
+    }
+
+    /**
+     * Recursive-descent parser: or := and (OR and)*, and := not (AND not)*, not := NOT not | '(' or ')' | predicate.
+     */
+    private static final class Parser {
+        private final String source;
+        private int position;
+
+        Parser(String source) {
+            if (source == null || source.trim().isEmpty()) {
+                throw new IllegalArgumentException("Rule expression is empty");
+            }
+            this.source = source;
+        }
+
+        Condition parse() {
+            Condition condition = or();
+            skipWhitespace();
+            if (position < source.length()) {
+                throw error("Unexpected '" + source.substring(position) + "'");
+            }
+            return condition;
+        }
+
+        private Condition or() {
+            Condition condition = and();
+            while (keyword("OR")) {
+                condition = new Or(condition, and());
+            }
+            return condition;
+        }
+
+        private Condition and() {
+            Condition condition = not();
+            while (keyword("AND")) {
+                condition = new And(condition, not());
+            }
+            return condition;
+        }
+
+        private Condition not() {
+            if (keyword("NOT")) {
+                return new Not(not());
+            }
+            if (symbol("(")) {
+                Condition condition = or();
+                expect(")");
+                return condition;
+            }
+            return predicate();
+        }
+
+        private Condition predicate() {
+            Operand left = operand();
+            if (keyword("IS")) {
+                boolean negated = keyword("NOT");
+                if (!keyword("NULL")) {
+                    throw error("Expected NULL");
+                }
+                Condition isNull = new IsNull(left);
+                return negated ? new Not(isNull) : isNull;
+            }
+            boolean negated = keyword("NOT");
+            Condition condition;
+            if (keyword("IN")) {
+                expect("(");
+                List<Operand> candidates = new ArrayList<>();
+                do {
+                    candidates.add(operand());
+                } while (symbol(","));
+                expect(")");
+                condition = new In(left, candidates);
+            } else if (keyword("LIKE")) {
+                Operand pattern = operand();
+                if (!(pattern instanceof Literal) || !(((Literal) pattern).value instanceof String)) {
+                    throw error("LIKE expects a quoted pattern");
+                }
+                condition = new Like(left, (String) ((Literal) pattern).value);
+            } else if (keyword("BETWEEN")) {
+                Operand low = operand();
+                if (!keyword("AND")) {
+                    throw error("Expected AND");
+                }
+                condition = new And(new Comparison(left, Operator.GE, low), new Comparison(left, Operator.LE, operand()));
+            } else if (negated) {
+                throw error("Expected IN, LIKE or BETWEEN");
+            } else {
+                return new Comparison(left, operator(), operand());
+            }
+            return negated ? new Not(condition) : condition;
+        }
+
+        private Operator operator() {
+            String[] symbols = {"<=", ">=", "<>", "!=", "=", "<", ">"};
+            Operator[] operators = {Operator.LE, Operator.GE, Operator.NE, Operator.NE, Operator.EQ, Operator.LT, Operator.GT};
+            for (int i = 0; i < symbols.length; i++) {
+                if (symbol(symbols[i])) {
+                    return operators[i];
+                }
+            }
+            throw error("Expected a comparison operator");
+        }
+
+        private Operand operand() {
+            skipWhitespace();
+            if (position >= source.length()) {
+                throw error("Unexpected end of expression");
+            }
+            char c = source.charAt(position);
+            if (c == '\'') {
+                return new Literal(string());
+            }
+            if (Character.isDigit(c) || c == '-' || c == '.') {
+                return new Literal(number());
+            }
+            if (Character.isLetter(c) || c == '_') {
+                String word = identifier();
+                switch (word.toUpperCase(Locale.ROOT)) {
+                    case "NULL":
+                        return new Literal(null);
+                    case "TRUE":
+                        return new Literal(Boolean.TRUE);
+                    case "FALSE":
+                        return new Literal(Boolean.FALSE);
+                    default:
+                        // A qualified column such as t.account refers to the evaluated object itself
+                        return new Property(word.substring(word.lastIndexOf('.') + 1));
+                }
+            }
+            throw error("Unexpected '" + c + "'");
+        }
+
+        private String string() {
+            StringBuilder value = new StringBuilder();
+            int start = position++;
+            while (position < source.length()) {
+                char c = source.charAt(position++);
+                if (c != '\'') {
+                    value.append(c);
+                } else if (position < source.length() && source.charAt(position) == '\'') {
+                    value.append('\'');
+                    position++;
+                } else {
+                    return value.toString();
+                }
+            }
+            position = start;
+            throw error("Unterminated string");
+        }
+
+        private Double number() {
+            int start = position;
+            if (source.charAt(position) == '-') {
+                position++;
+            }
+            while (position < source.length() && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+                position++;
+            }
+            try {
+                return Double.valueOf(source.substring(start, position));
+            } catch (NumberFormatException e) {
+                position = start;
+                throw error("Invalid number");
+            }
+        }
+
+        private String identifier() {
+            int start = position;
+            while (position < source.length()
+                    && (Character.isLetterOrDigit(source.charAt(position)) || source.charAt(position) == '_' || source.charAt(position) == '.')) {
+                position++;
+            }
+            return source.substring(start, position);
+        }
+
+        private boolean keyword(String keyword) {
+            skipWhitespace();
+            int end = position + keyword.length();
+            if (source.regionMatches(true, position, keyword, 0, keyword.length())
+                    && (end == source.length() || !Character.isLetterOrDigit(source.charAt(end)) && source.charAt(end) != '_')) {
+                position = end;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean symbol(String symbol) {
+            skipWhitespace();
+            if (source.startsWith(symbol, position)) {
+                position += symbol.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String symbol) {
+            if (!symbol(symbol)) {
+                throw error("Expected '" + symbol + "'");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + (position + 1) + " of rule expression: " + source);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Rules are reference data: reads are served from the "ruleNames" cache and every write clears it.
+ * Writes are also passed on to the {@link RuleEngine} so the changed rule is recompiled.
+ */
+@Service
+public class RuleNameService {
+    public static final String CACHE = "ruleNames";
+
+    @Autowired
+    private RuleNameRepository ruleNameRepository;
+
+    @Autowired
+    private RuleEngine ruleEngine;
+
+    @Cacheable(CACHE)
+    public List<RuleName> findAll() {
+        return ruleNameRepository.findAll();
+    }
+
+    @Cacheable(value = CACHE, key = "#id")
+    public RuleName findById(Long id) {
+        return ruleNameRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Invalid rule Id:" + id));
+    }
+
+    @CacheEvict(value = CACHE, allEntries = true)
+    public RuleName save(RuleName ruleName) {
+        RuleName saved = ruleNameRepository.save(ruleName);
+        ruleEngine.ruleSaved(saved);
+        return saved;
+    }
+
+    @CacheEvict(value = CACHE, allEntries = true)
+    public void delete(Long id) {
+        ruleNameRepository.deleteById(id);
+        ruleEngine.ruleDeleted(id);
+    }
+}
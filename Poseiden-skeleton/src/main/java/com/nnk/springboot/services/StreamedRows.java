@@ -0,0 +1,70 @@
+package com.nnk.springboot.services;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Rows of a list read in keyset batches of ascending ids while the view iterates them, instead of all before
+ * rendering starts. {@code beforeBatch} runs ahead of each read; the list pages use it to flush what is already
+ * rendered, so the first bytes reach the browser before the first row is read and memory holds one batch at a
+ * time. Each iteration reads the rows anew.
+ */
+public class StreamedRows<R> implements Iterable<R> {
+    private final Function<Long, List<R>> batch;
+    private final Function<R, Long> idOf;
+    private final int batchSize;
+    private final Runnable beforeBatch;
+
+    /**
+     * @param batch       rows with an id greater than the given one (null for the first batch), in ascending id
+     *                    order, at most {@code batchSize} of them
+     * @param idOf        id accessor of the rows
+     * @param beforeBatch called before each batch is read
+     */
+    public StreamedRows(Function<Long, List<R>> batch, Function<R, Long> idOf, int batchSize, Runnable beforeBatch) {
+        this.batch = batch;
+        this.idOf = idOf;
+        this.batchSize = batchSize;
+        this.beforeBatch = beforeBatch;
+    }
+
+    @Override
+    public Iterator<R> iterator() {
+        return new Iterator<R>() {
+            private List<R> rows = Collections.emptyList();
+            private int next;
+            private Long lastId;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                if (next < rows.size()) {
+                    return true;
+                }
+                if (exhausted) {
+                    return false;
+                }
+                beforeBatch.run();
+                rows = batch.apply(lastId);
+                next = 0;
+                // A short batch is the last one, which saves a final empty query
+                exhausted = rows.size() < batchSize;
+                if (!rows.isEmpty()) {
+                    lastId = idOf.apply(rows.get(rows.size() - 1));
+                }
+                return !rows.isEmpty();
+            }
+
+            @Override
+            public R next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return rows.get(next++);
+            }
+        };
+    }
+}
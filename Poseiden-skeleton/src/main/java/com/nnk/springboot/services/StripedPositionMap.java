@@ -0,0 +1,155 @@
+package com.nnk.springboot.services;
+
+/**
+ * Running position aggregates keyed by a primitive long, split into independently locked stripes so that
+ * updates to different keys rarely contend. Each stripe is an open-addressing table holding the key and its
+ * aggregates in flat arrays: no boxing and no per-entry objects.
+ */
+final class StripedPositionMap {
+    private static final int FIELDS = 5;
+    private static final int BUY_QUANTITY = 0;
+    private static final int SELL_QUANTITY = 1;
+    private static final int BUY_NOTIONAL = 2;
+    private static final int SELL_NOTIONAL = 3;
+    private static final int TRADE_COUNT = 4;
+
+    private final Stripe[] stripes;
+
+    /**
+     * @param stripes number of stripes, rounded up to a power of two (at most 65536)
+     */
+    StripedPositionMap(int stripes) {
+        int count = 1;
+        while (count < stripes) {
+            count <<= 1;
+        }
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    void add(long key, double buyQuantity, double sellQuantity, double buyNotional, double sellNotional, int trades) {
+        int hash = hash(key);
+        Stripe stripe = stripe(hash);
+        synchronized (stripe) {
+            int base = stripe.slot(key, hash, true) * FIELDS;
+            double[] values = stripe.values;
+            values[base + BUY_QUANTITY] += buyQuantity;
+            values[base + SELL_QUANTITY] += sellQuantity;
+            values[base + BUY_NOTIONAL] += buyNotional;
+            values[base + SELL_NOTIONAL] += sellNotional;
+            values[base + TRADE_COUNT] += trades;
+        }
+    }
+
+    Position get(long key) {
+        int hash = hash(key);
+        Stripe stripe = stripe(hash);
+        synchronized (stripe) {
+            int slot = stripe.slot(key, hash, false);
+            if (slot < 0) {
+                return Position.EMPTY;
+            }
+            double[] values = stripe.values;
+            int base = slot * FIELDS;
+            return new Position(values[base + BUY_QUANTITY], values[base + SELL_QUANTITY],
+                    values[base + BUY_NOTIONAL], values[base + SELL_NOTIONAL], (long) values[base + TRADE_COUNT]);
+        }
+    }
+
+    void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.reset(Stripe.INITIAL_CAPACITY);
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Stripes are chosen from the high bits of the hash, slots within a stripe from the low bits.
+     */
+    private Stripe stripe(int hash) {
+        return stripes[(hash >>> 16) & (stripes.length - 1)];
+    }
+
+    /**
+     * Murmur3 finalizer: spreads the packed key bits over the whole hash.
+     */
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    private static final class Stripe {
+        static final int INITIAL_CAPACITY = 16;
+
+        long[] keys;
+        boolean[] used;
+        double[] values;
+        int size;
+
+        Stripe() {
+            reset(INITIAL_CAPACITY);
+        }
+
+        void reset(int capacity) {
+            keys = new long[capacity];
+            used = new boolean[capacity];
+            values = new double[capacity * FIELDS];
+            size = 0;
+        }
+
+        /**
+         * @return the key's slot, inserting it when asked to, or -1 when absent
+         */
+        int slot(long key, int hash, boolean insert) {
+            int mask = keys.length - 1;
+            int slot = hash & mask;
+            while (used[slot]) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (!insert) {
+                return -1;
+            }
+            if ((size + 1) * 4 > keys.length * 3) {
+                grow();
+                return slot(key, hash, true);
+            }
+            used[slot] = true;
+            keys[slot] = key;
+            size++;
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            boolean[] oldUsed = used;
+            double[] oldValues = values;
+            reset(oldKeys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    int slot = slot(oldKeys[i], hash(oldKeys[i]), true);
+                    System.arraycopy(oldValues, i * FIELDS, values, slot * FIELDS, FIELDS);
+                }
+            }
+        }
+    }
+}
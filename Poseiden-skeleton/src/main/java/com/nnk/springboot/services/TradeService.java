@@ -0,0 +1,121 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.domain.TradeRow;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.nnk.springboot.services.FilterSpecifications.between;
+import static com.nnk.springboot.services.FilterSpecifications.contains;
+import static com.nnk.springboot.services.FilterSpecifications.equal;
+
+@Service
+public class TradeService {
+    private static final Map<String, String> SORTS = new HashMap<>();
+
+    static {
+        SORTS.put("id", "tradeId");
+        SORTS.put("account", "account");
+        SORTS.put("type", "type");
+        SORTS.put("quantity", "buyQuantity");
+        SORTS.put("date", "tradeDate");
+        SORTS.put("status", "status");
+    }
+
+    @Autowired
+    private TradeRepository tradeRepository;
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+    @Autowired
+    private WriteBehindQueue writeBehindQueue;
+    @Autowired
+    private PositionService positionService;
+    // Saves go through the proxy so they lock and roll up in a transaction of their own
+    @Autowired
+    @Lazy
+    private TradeService self;
+
+    @PostConstruct
+    public void init() {
+        writeBehindQueue.register("trade", Trade.class, trade -> self.save(trade));
+    }
+
+    public KeysetPage<TradeRow> findPage(String token, Integer size) {
+        return findPage(new ListFilter(), token, size);
+    }
+
+    /**
+     * Filters on account, type, status, tradeDate range and free text in security or deal name (trades have no
+     * commentary). Only the listed columns are read.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<TradeRow> findPage(ListFilter filter, String token, Integer size) {
+        Specification<Trade> spec = Specification.<Trade>where(equal("account", filter.getAccount()))
+                .and(equal("type", filter.getType()))
+                .and(equal("status", filter.getStatus()))
+                .and(between("tradeDate", filter.getFrom(), filter.getTo()))
+                .and(contains(filter.getQ(), "security", "dealName"));
+        return keysetPaginator.page(token, size, spec, filter.sort(SORTS, "tradeId"), "tradeId",
+                tradeRepository::findListRows, TradeRow::getTradeId);
+    }
+
+    public Trade findById(Long id) {
+        return tradeRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Invalid trade Id:" + id));
+    }
+
+    /**
+     * The stored trade is read with a row lock in the same transaction as the write, so concurrent edits of one trade
+     * take turns and each one removes from the positions the contribution the previous one committed.
+     */
+    @Transactional
+    public Trade save(Trade trade) {
+        // Snapshot the stored state first, merge overwrites the managed instance
+        PositionService.Contribution previous = trade.getTradeId() == null ? null
+                : tradeRepository.findForUpdate(trade.getTradeId()).map(PositionService.Contribution::of).orElse(null);
+        Trade saved = tradeRepository.save(trade);
+        afterCommit(() -> positionService.tradeSaved(previous, saved));
+        return saved;
+    }
+
+    /**
+     * Saves now, or queues the write when write-behind is enabled.
+     */
+    public void submit(Trade trade) {
+        writeBehindQueue.submit(trade);
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        Trade trade = tradeRepository.findForUpdate(id)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid trade Id:" + id));
+        PositionService.Contribution deleted = PositionService.Contribution.of(trade);
+        tradeRepository.delete(trade);
+        afterCommit(() -> positionService.tradeDeleted(deleted));
+    }
+
+    /**
+     * Runs the action once the surrounding transaction commits, or now without one.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,146 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only JSON lines file behind {@link WriteBehindQueue}. Each queued entity is written as
+ * {@code {"seq":n,"type":...,"entity":{...}}} before it is acknowledged, and each committed batch as
+ * {@code {"committed":n}}, so recovery only replays entries above the last committed sequence. The file is
+ * truncated whenever everything appended has been committed, which is also when sequence numbers may restart.
+ * <p>
+ * Not thread-safe, callers synchronize.
+ */
+class WriteBehindJournal implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindJournal.class);
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final boolean fsync;
+    private FileChannel channel;
+
+    WriteBehindJournal(Path path, ObjectMapper objectMapper, boolean fsync) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Reads back the entries that were appended but never committed, in sequence order, and opens the
+     * journal for appending.
+     */
+    List<Record> open() throws IOException {
+        Map<Long, Record> pending = new LinkedHashMap<>();
+        long committed = 0;
+        if (Files.exists(path)) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    JsonNode node;
+                    try {
+                        node = objectMapper.readTree(line);
+                    } catch (IOException e) {
+                        // A torn last line: it was never acknowledged
+                        logger.warn("Ignoring unreadable write-behind journal line in {}", path);
+                        continue;
+                    }
+                    if (node.has("committed")) {
+                        committed = Math.max(committed, node.get("committed").asLong());
+                    } else if (node.has("seq")) {
+                        long seq = node.get("seq").asLong();
+                        pending.put(seq, new Record(seq, node.get("type").asText(), node.get("entity")));
+                    }
+                }
+            }
+        } else if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        List<Record> uncommitted = new ArrayList<>();
+        for (Record record : pending.values()) {
+            if (record.seq > committed) {
+                uncommitted.add(record);
+            }
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (uncommitted.isEmpty()) {
+            // Sequence numbers restart with an empty journal
+            truncate();
+        } else {
+            channel.position(channel.size());
+        }
+        return uncommitted;
+    }
+
+    void append(long seq, String type, Object entity) throws IOException {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("seq", seq);
+        node.put("type", type);
+        node.set("entity", objectMapper.valueToTree(entity));
+        write(node);
+    }
+
+    void committed(long seq) throws IOException {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("committed", seq);
+        write(node);
+    }
+
+    void truncate() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    private void write(JsonNode node) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((objectMapper.writeValueAsString(node) + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    static final class Record {
+        final long seq;
+        final String type;
+        final JsonNode entity;
+
+        Record(long seq, String type, JsonNode entity) {
+            this.seq = seq;
+            this.type = type;
+            this.entity = entity;
+        }
+    }
+}
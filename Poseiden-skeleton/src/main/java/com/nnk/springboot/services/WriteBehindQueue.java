@@ -0,0 +1,322 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Optional write-behind for entity saves. When {@code app.write-behind.enabled} is set, {@link #submit} journals
+ * the entity, queues it and returns; a background writer drains the queue in batches of
+ * {@code app.write-behind.batch-size}, one transaction per batch. When the queue holds
+ * {@code app.write-behind.capacity} entries, submitters wait up to {@code app.write-behind.offer-timeout-ms} and
+ * then get a {@link WriteBehindQueueFullException}. Entries left in the journal by a crash are replayed on
+ * startup; the last batch committed before the crash may be written twice.
+ * <p>
+ * When write-behind is disabled, {@link #submit} saves synchronously, in a transaction like the writer's.
+ */
+@Service
+public class WriteBehindQueue implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindQueue.class);
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.write-behind.enabled:false}")
+    private boolean enabled;
+    @Value("${app.write-behind.capacity:10000}")
+    private int capacity;
+    @Value("${app.write-behind.batch-size:500}")
+    private int batchSize;
+    @Value("${app.write-behind.offer-timeout-ms:2000}")
+    private long offerTimeoutMillis;
+    @Value("${app.write-behind.journal:write-behind.journal}")
+    private String journalPath;
+    @Value("${app.write-behind.journal-fsync:true}")
+    private boolean journalFsync;
+
+    private final Map<String, Sink<?>> sinksByType = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Sink<?>> sinksByClass = new ConcurrentHashMap<>();
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Object progress = new Object();
+    private Semaphore slots;
+    private WriteBehindJournal journal;
+    private TransactionTemplate transactionTemplate;
+    private Thread writer;
+    private volatile boolean running;
+    private long lastSeq;
+    private long processedSeq;
+    private Counter written;
+    private Counter failed;
+    private Timer batchTimer;
+
+    /**
+     * Registers how entities of a type are written. {@code type} names them in the journal.
+     */
+    public <T> void register(String type, Class<T> entityClass, Consumer<T> save) {
+        Sink<T> sink = new Sink<>(type, entityClass, save);
+        sinksByType.put(type, sink);
+        sinksByClass.put(entityClass, sink);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        if (!enabled) {
+            return;
+        }
+        slots = new Semaphore(capacity);
+        meterRegistry.gauge("app.write-behind.queue.depth", queue, BlockingQueue::size);
+        written = meterRegistry.counter("app.write-behind.entries", "result", "written");
+        failed = meterRegistry.counter("app.write-behind.entries", "result", "failed");
+        batchTimer = meterRegistry.timer("app.write-behind.batch");
+
+        journal = new WriteBehindJournal(Paths.get(journalPath), objectMapper, journalFsync);
+        List<WriteBehindJournal.Record> recovered;
+        try {
+            recovered = journal.open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open write-behind journal " + journalPath, e);
+        }
+        if (!recovered.isEmpty()) {
+            processedSeq = recovered.get(0).seq - 1;
+            lastSeq = recovered.get(recovered.size() - 1).seq;
+        }
+        running = true;
+        writer = new Thread(this::drain, "write-behind");
+        writer.setDaemon(true);
+        writer.start();
+
+        for (WriteBehindJournal.Record record : recovered) {
+            Sink<?> sink = sinksByType.get(record.type);
+            Object entity = null;
+            try {
+                entity = sink == null ? null : objectMapper.treeToValue(record.entity, sink.entityClass);
+            } catch (IOException e) {
+                logger.warn("Cannot read journaled write-behind entry {}", record.seq, e);
+            }
+            if (entity == null) {
+                logger.error("Dropping journaled write-behind entry {}: {}", record.seq, record.entity);
+                continue;
+            }
+            slots.acquireUninterruptibly();
+            queue.add(new Entry(record.seq, sink, entity));
+        }
+        if (!recovered.isEmpty()) {
+            logger.info("Replaying {} write-behind entries from {}", recovered.size(), journalPath);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Saves the entity, or journals and queues it when write-behind is enabled.
+     *
+     * @throws WriteBehindQueueFullException if the queue stays full for the offer timeout
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void submit(T entity) {
+        Sink<T> sink = (Sink<T>) sinksByClass.get(entity.getClass());
+        if (sink == null) {
+            throw new IllegalArgumentException("No write-behind sink for " + entity.getClass().getName());
+        }
+        if (!enabled) {
+            transactionTemplate.execute(status -> {
+                sink.save.accept(entity);
+                return null;
+            });
+            return;
+        }
+        try {
+            if (!slots.tryAcquire(offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new WriteBehindQueueFullException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WriteBehindQueueFullException();
+        }
+        synchronized (progress) {
+            long seq = lastSeq + 1;
+            try {
+                journal.append(seq, sink.type, entity);
+            } catch (IOException e) {
+                slots.release();
+                throw new UncheckedIOException("Cannot journal write-behind entry", e);
+            }
+            lastSeq = seq;
+            queue.add(new Entry(seq, sink, entity));
+        }
+    }
+
+    /**
+     * Waits until everything submitted before the call has been written.
+     *
+     * @return false if the queue did not drain within the timeout
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        if (!enabled) {
+            return true;
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (progress) {
+            long target = lastSeq;
+            while (processedSeq < target) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(progress, remaining);
+            }
+        }
+        return true;
+    }
+
+    public WriteBehindStatus status() {
+        if (!enabled) {
+            return new WriteBehindStatus(false, 0, 0, 0, 0);
+        }
+        return new WriteBehindStatus(true, queue.size(), capacity, (long) written.count(), (long) failed.count());
+    }
+
+    private void drain() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                batchTimer.record(() -> write(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Write-behind writer failed", e);
+            } finally {
+                if (!batch.isEmpty()) {
+                    processed(batch);
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        try {
+            transactionTemplate.execute(status -> {
+                for (Entry entry : batch) {
+                    entry.save();
+                }
+                return null;
+            });
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            // Retry one by one so a bad entry only loses itself
+            logger.warn("Write-behind batch of {} failed, retrying entries individually", batch.size(), e);
+            for (Entry entry : batch) {
+                try {
+                    transactionTemplate.execute(status -> {
+                        entry.save();
+                        return null;
+                    });
+                    written.increment();
+                } catch (RuntimeException entryFailure) {
+                    failed.increment();
+                    logger.error("Dropping write-behind entry {}: {}", entry.seq, entry.entity, entryFailure);
+                }
+            }
+        }
+    }
+
+    private void processed(List<Entry> batch) {
+        long seq = batch.get(batch.size() - 1).seq;
+        synchronized (progress) {
+            try {
+                if (seq == lastSeq) {
+                    journal.truncate();
+                } else {
+                    journal.committed(seq);
+                }
+            } catch (IOException e) {
+                logger.error("Cannot record write-behind progress in journal", e);
+            }
+            processedSeq = seq;
+            progress.notifyAll();
+        }
+        slots.release(batch.size());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException, IOException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        synchronized (progress) {
+            journal.close();
+        }
+        if (!queue.isEmpty()) {
+            logger.warn("Stopped with {} write-behind entries queued, they stay in {}", queue.size(), journalPath);
+        }
+    }
+
+    private static final class Sink<T> {
+        final String type;
+        final Class<T> entityClass;
+        final Consumer<T> save;
+
+        Sink(String type, Class<T> entityClass, Consumer<T> save) {
+            this.type = type;
+            this.entityClass = entityClass;
+            this.save = save;
+        }
+    }
+
+    private static final class Entry {
+        final long seq;
+        final Sink<Object> sink;
+        final Object entity;
+
+        @SuppressWarnings("unchecked")
+        Entry(long seq, Sink<?> sink, Object entity) {
+            this.seq = seq;
+            this.sink = (Sink<Object>) sink;
+            this.entity = entity;
+        }
+
+        void save() {
+            sink.save.accept(entity);
+        }
+    }
+}
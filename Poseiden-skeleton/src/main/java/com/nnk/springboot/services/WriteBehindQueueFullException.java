@@ -0,0 +1,14 @@
+package com.nnk.springboot.services;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The write-behind queue stayed full for the whole offer timeout: the writer is not keeping up with submissions.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Write-behind queue full, retry later")
+public class WriteBehindQueueFullException extends RuntimeException {
+    public WriteBehindQueueFullException() {
+        super("Write-behind queue full");
+    }
+}
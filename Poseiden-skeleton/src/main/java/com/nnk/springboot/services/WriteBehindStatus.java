@@ -0,0 +1,40 @@
+package com.nnk.springboot.services;
+
+/**
+ * Snapshot of the write-behind queue, returned by the flush endpoint.
+ */
+public class WriteBehindStatus {
+    private final boolean enabled;
+    private final int depth;
+    private final int capacity;
+    private final long written;
+    private final long failed;
+
+    public WriteBehindStatus(boolean enabled, int depth, int capacity, long written, long failed) {
+        this.enabled = enabled;
+        this.depth = depth;
+        this.capacity = capacity;
+        this.written = written;
+        this.failed = failed;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+}
@@ -0,0 +1,117 @@
+package com.nnk.springboot.services;
+
+import java.util.Arrays;
+
+/**
+ * Immutable curve held as sorted primitive term/value arrays. Spline coefficients are computed once
+ * when the curve is built, so an interpolation is a binary search plus a few multiplications and
+ * never allocates. Terms outside the curve are extrapolated flat.
+ */
+public final class YieldCurve {
+    private final int curveId;
+    private final double[] terms;
+    private final double[] values;
+    private final double[] secondDerivatives;
+
+    /**
+     * @param terms  strictly increasing terms
+     * @param values value at each term
+     */
+    public YieldCurve(int curveId, double[] terms, double[] values) {
+        if (terms.length != values.length) {
+            throw new IllegalArgumentException("Terms and values differ in length");
+        }
+        for (int i = 1; i < terms.length; i++) {
+            if (!(terms[i] > terms[i - 1])) {
+                throw new IllegalArgumentException("Terms must be strictly increasing");
+            }
+        }
+        this.curveId = curveId;
+        this.terms = terms.clone();
+        this.values = values.clone();
+        this.secondDerivatives = naturalSpline(this.terms, this.values);
+    }
+
+    public int getCurveId() {
+        return curveId;
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    public double[] getTerms() {
+        return terms.clone();
+    }
+
+    public double[] getValues() {
+        return values.clone();
+    }
+
+    public double interpolate(double term, Interpolation method) {
+        return method == Interpolation.CUBIC_SPLINE ? cubicSpline(term) : linear(term);
+    }
+
+    public double linear(double term) {
+        int i = lowerIndex(term);
+        if (i < 0) {
+            return flat(term);
+        }
+        double weight = (term - terms[i]) / (terms[i + 1] - terms[i]);
+        return values[i] + weight * (values[i + 1] - values[i]);
+    }
+
+    public double cubicSpline(double term) {
+        int i = lowerIndex(term);
+        if (i < 0) {
+            return flat(term);
+        }
+        double h = terms[i + 1] - terms[i];
+        double a = (terms[i + 1] - term) / h;
+        double b = (term - terms[i]) / h;
+        return a * values[i] + b * values[i + 1]
+                + ((a * a * a - a) * secondDerivatives[i] + (b * b * b - b) * secondDerivatives[i + 1]) * (h * h) / 6.0;
+    }
+
+    /**
+     * @return index of the segment [terms[i], terms[i + 1]) holding the term, or -1 outside the curve
+     */
+    private int lowerIndex(double term) {
+        if (terms.length < 2 || term <= terms[0] || term >= terms[terms.length - 1]) {
+            return -1;
+        }
+        int i = Arrays.binarySearch(terms, term);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    private double flat(double term) {
+        if (terms.length == 0) {
+            throw new IllegalStateException("Curve " + curveId + " has no points");
+        }
+        return term <= terms[0] ? values[0] : values[values.length - 1];
+    }
+
+    /**
+     * Second derivatives of the natural cubic spline through the points (tridiagonal solve).
+     */
+    private static double[] naturalSpline(double[] x, double[] y) {
+        int n = x.length;
+        double[] y2 = new double[n];
+        if (n < 3) {
+            return y2;
+        }
+        double[] u = new double[n];
+        for (int i = 1; i < n - 1; i++) {
+            double sig = (x[i] - x[i - 1]) / (x[i + 1] - x[i - 1]);
+            double p = sig * y2[i - 1] + 2.0;
+            y2[i] = (sig - 1.0) / p;
+            double slope = (y[i + 1] - y[i]) / (x[i + 1] - x[i]) - (y[i] - y[i - 1]) / (x[i] - x[i - 1]);
+            u[i] = (6.0 * slope / (x[i + 1] - x[i - 1]) - sig * u[i - 1]) / p;
+        }
+        y2[n - 1] = 0.0;
+        for (int k = n - 2; k >= 0; k--) {
+            y2[k] = y2[k] * y2[k + 1] + u[k];
+        }
+        return y2;
+    }
+}
@@ -0,0 +1,176 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps one {@link YieldCurve} per curve id in memory. A curve is loaded from the repository the first
+ * time it is asked for; afterwards {@link CurvePointService} reports each saved or deleted point and only
+ * the affected curve is rebuilt, without going back to the database.
+ * <p>
+ * The live curve is built from the points of the latest asOfDate only, so a term dropped from today's curve is
+ * gone rather than kept at an older value; older dates are read from the snapshots with
+ * {@link #getCurve(int, Timestamp)}. When several points of that date share a term, the highest id wins.
+ * Hot pricing loops should hold on to the {@link YieldCurve} returned by {@link #getCurve(int)} and call it
+ * directly: it is immutable and its lookups do not allocate.
+ */
+@Service
+public class YieldCurveService {
+    @Autowired
+    private CurvePointRepository curvePointRepository;
+
+    @Autowired
+    private CurveSnapshotService curveSnapshotService;
+
+    /**
+     * Books are only mutated inside {@link ConcurrentHashMap#compute} for their key, so updates to one
+     * curve are serialized while readers just see the volatile curve reference.
+     */
+    private final ConcurrentHashMap<Integer, CurveBook> curves = new ConcurrentHashMap<>();
+
+    public YieldCurve getCurve(int curveId) {
+        return curves.computeIfAbsent(curveId, this::load).curve;
+    }
+
+    public double interpolate(int curveId, double term, Interpolation method) {
+        return getCurve(curveId).interpolate(term, method);
+    }
+
+    /**
+     * The curve as it stood on a past date, for backtests: the last snapshot taken on or before that date,
+     * read from the file exported by {@link CurveSnapshotService} rather than from the curvepoint table.
+     *
+     * @throws CurveSnapshotNotFoundException if the curve was never exported or has no snapshot that old
+     */
+    public YieldCurve getCurve(int curveId, Timestamp asOfDate) {
+        CurveSnapshotFile snapshots = curveSnapshotService.open(curveId);
+        int snapshot = snapshots.indexOf(asOfDate);
+        if (snapshot < 0) {
+            snapshot = -snapshot - 2;
+        }
+        if (snapshot < 0) {
+            throw new CurveSnapshotNotFoundException(curveId, asOfDate);
+        }
+        return snapshots.curve(snapshot);
+    }
+
+    public double interpolate(int curveId, Timestamp asOfDate, double term, Interpolation method) {
+        return getCurve(curveId, asOfDate).interpolate(term, method);
+    }
+
+    void pointSaved(Integer previousCurveId, CurvePoint curvePoint) {
+        if (previousCurveId != null && !previousCurveId.equals(curvePoint.getCurveId())) {
+            curves.computeIfPresent(previousCurveId, (id, book) -> book.remove(curvePoint.getId()));
+        }
+        Point point = new Point(curvePoint);
+        curves.computeIfPresent(curvePoint.getCurveId(), (id, book) -> book.put(point));
+    }
+
+    void pointDeleted(CurvePoint curvePoint) {
+        curves.computeIfPresent(curvePoint.getCurveId(), (id, book) -> book.remove(curvePoint.getId()));
+    }
+
+    /**
+     * Drops every loaded curve; they are read again on next use.
+     */
+    public void reload() {
+        curves.clear();
+    }
+
+    private CurveBook load(Integer curveId) {
+        CurveBook book = new CurveBook(curveId);
+        for (CurvePoint curvePoint : curvePointRepository.findByCurveId(curveId)) {
+            Point point = new Point(curvePoint);
+            book.points.put(point.id, point);
+        }
+        book.rebuild();
+        return book;
+    }
+
+    private static final class Point {
+        final Long id;
+        final double term;
+        final double value;
+        final long asOf;
+
+        Point(CurvePoint curvePoint) {
+            this.id = curvePoint.getId();
+            this.term = curvePoint.getTerm();
+            this.value = curvePoint.getValue();
+            this.asOf = curvePoint.getAsOfDate() == null ? Long.MIN_VALUE : curvePoint.getAsOfDate().getTime();
+        }
+
+        boolean supersedes(Point other) {
+            return id > other.id;
+        }
+    }
+
+    private static final class CurveBook {
+        final int curveId;
+        final Map<Long, Point> points = new HashMap<>();
+        volatile YieldCurve curve;
+
+        CurveBook(int curveId) {
+            this.curveId = curveId;
+        }
+
+        CurveBook put(Point point) {
+            points.put(point.id, point);
+            rebuild();
+            return this;
+        }
+
+        CurveBook remove(Long pointId) {
+            if (points.remove(pointId) == null) {
+                return this;
+            }
+            if (points.isEmpty()) {
+                return null;
+            }
+            rebuild();
+            return this;
+        }
+
+        void rebuild() {
+            long latest = Long.MIN_VALUE;
+            for (Point point : points.values()) {
+                latest = Math.max(latest, point.asOf);
+            }
+            List<Point> sorted = new ArrayList<>(points.size());
+            for (Point point : points.values()) {
+                if (point.asOf == latest) {
+                    sorted.add(point);
+                }
+            }
+            sorted.sort((a, b) -> Double.compare(a.term, b.term));
+            double[] terms = new double[sorted.size()];
+            double[] values = new double[sorted.size()];
+            int n = 0;
+            Point last = null;
+            for (Point point : sorted) {
+                if (last != null && point.term == last.term) {
+                    if (point.supersedes(last)) {
+                        values[n - 1] = point.value;
+                        last = point;
+                    }
+                    continue;
+                }
+                terms[n] = point.term;
+                values[n] = point.value;
+                n++;
+                last = point;
+            }
+            curve = new YieldCurve(curveId, Arrays.copyOf(terms, n), Arrays.copyOf(values, n));
+        }
+    }
+}
@@ -1,80 +1,81 @@
+-- Schema of doc/data.sql with the table names of the entity mappings and INT ids taken from hibernate_sequence
 
-CREATE TABLE BidList (
-  BidListId tinyint(4) NOT NULL AUTO_INCREMENT,
+CREATE TABLE bidlist (
+  BidListId INT NOT NULL,
   account VARCHAR(30) NOT NULL,
   type VARCHAR(30) NOT NULL,
   bidQuantity DOUBLE,
   askQuantity DOUBLE,
-  bid DOUBLE ,
+  bid DOUBLE,
   ask DOUBLE,
   benchmark VARCHAR(125),
-  bidListDate TIMESTAMP,
+  bidListDate DATETIME,
   commentary VARCHAR(125),
   security VARCHAR(125),
   status VARCHAR(10),
   trader VARCHAR(125),
   book VARCHAR(125),
   creationName VARCHAR(125),
-  creationDate TIMESTAMP ,
+  creationDate DATETIME,
   revisionName VARCHAR(125),
-  revisionDate TIMESTAMP ,
+  revisionDate DATETIME,
   dealName VARCHAR(125),
   dealType VARCHAR(125),
   sourceListId VARCHAR(125),
   side VARCHAR(125),
 
   PRIMARY KEY (BidListId)
-)
+);
 
-CREATE TABLE Trade (
-  TradeId tinyint(4) NOT NULL AUTO_INCREMENT,
+CREATE TABLE trade (
+  TradeId INT NOT NULL,
   account VARCHAR(30) NOT NULL,
   type VARCHAR(30) NOT NULL,
   buyQuantity DOUBLE,
   sellQuantity DOUBLE,
-  buyPrice DOUBLE ,
+  buyPrice DOUBLE,
   sellPrice DOUBLE,
-  tradeDate TIMESTAMP,
+  tradeDate DATETIME,
   security VARCHAR(125),
   status VARCHAR(10),
   trader VARCHAR(125),
   benchmark VARCHAR(125),
   book VARCHAR(125),
   creationName VARCHAR(125),
-  creationDate TIMESTAMP ,
+  creationDate DATETIME,
   revisionName VARCHAR(125),
-  revisionDate TIMESTAMP ,
+  revisionDate DATETIME,
   dealName VARCHAR(125),
   dealType VARCHAR(125),
   sourceListId VARCHAR(125),
   side VARCHAR(125),
 
   PRIMARY KEY (TradeId)
-)
+);
 
-CREATE TABLE CurvePoint (
-  Id tinyint(4) NOT NULL AUTO_INCREMENT,
-  CurveId tinyint,
-  asOfDate TIMESTAMP,
-  term DOUBLE ,
-  value DOUBLE ,
-  creationDate TIMESTAMP ,
+CREATE TABLE curvepoint (
+  Id INT NOT NULL,
+  curveId INT,
+  asOfDate DATETIME,
+  term DOUBLE,
+  value DOUBLE,
+  creationDate DATETIME,
 
   PRIMARY KEY (Id)
-)
+);
 
-CREATE TABLE Rating (
-  Id tinyint(4) NOT NULL AUTO_INCREMENT,
+CREATE TABLE rating (
+  Id INT NOT NULL,
   moodysRating VARCHAR(125),
   sandPRating VARCHAR(125),
   fitchRating VARCHAR(125),
-  orderNumber tinyint,
+  orderNumber INT,
 
   PRIMARY KEY (Id)
-)
+);
 
-CREATE TABLE RuleName (
-  Id tinyint(4) NOT NULL AUTO_INCREMENT,
+CREATE TABLE rulename (
+  Id INT NOT NULL,
   name VARCHAR(125),
   description VARCHAR(125),
   json VARCHAR(125),
@@ -83,17 +84,14 @@ CREATE TABLE RuleName (
   sqlPart VARCHAR(125),
 
   PRIMARY KEY (Id)
-)
+);
 
-CREATE TABLE Users (
-  Id tinyint(4) NOT NULL AUTO_INCREMENT,
+CREATE TABLE users (
+  id INT NOT NULL,
   username VARCHAR(125),
   password VARCHAR(125),
   fullname VARCHAR(125),
   role VARCHAR(125),
 
-  PRIMARY KEY (Id)
-)
-
-insert into Users(fullname, username, password, role) values("Administrator", "admin", "$2a$10$pBV8ILO/s/nao4wVnGLrh.sa/rnr5pDpbeC4E.KNzQWoy8obFZdaa", "ADMIN")
-insert into Users(fullname, username, password, role) values("User", "user", "$2a$10$pBV8ILO/s/nao4wVnGLrh.sa/rnr5pDpbeC4E.KNzQWoy8obFZdaa", "USER")
\ No newline at end of file
+  PRIMARY KEY (id)
+);
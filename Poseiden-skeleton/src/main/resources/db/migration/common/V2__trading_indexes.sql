@@ -0,0 +1,16 @@
+-- Indexes behind the BidListRepository/TradeRepository finders: each filter column leads, the date follows
+-- so date-range lookups within an account, book, trader or status use the same index
+CREATE INDEX idx_bidlist_account_date ON bidlist (account, bidListDate);
+CREATE INDEX idx_bidlist_book_date ON bidlist (book, bidListDate);
+CREATE INDEX idx_bidlist_trader_date ON bidlist (trader, bidListDate);
+CREATE INDEX idx_bidlist_status_date ON bidlist (status, bidListDate);
+CREATE INDEX idx_bidlist_date ON bidlist (bidListDate);
+
+CREATE INDEX idx_trade_account_date ON trade (account, tradeDate);
+CREATE INDEX idx_trade_book_date ON trade (book, tradeDate);
+CREATE INDEX idx_trade_trader_date ON trade (trader, tradeDate);
+CREATE INDEX idx_trade_status_date ON trade (status, tradeDate);
+CREATE INDEX idx_trade_date ON trade (tradeDate);
+
+-- CurvePointRepository.findByCurveIdAndAsOfDate and the per-curve loads of YieldCurveService
+CREATE INDEX idx_curvepoint_curve_date ON curvepoint (curveId, asOfDate);
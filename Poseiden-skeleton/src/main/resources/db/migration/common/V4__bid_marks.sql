@@ -0,0 +1,4 @@
+-- End-of-day marks written by BidPricingService: curve level at the benchmark tenor and value of the bid against it
+ALTER TABLE bidlist ADD COLUMN markPrice DOUBLE;
+ALTER TABLE bidlist ADD COLUMN markValue DOUBLE;
+ALTER TABLE bidlist ADD COLUMN markDate DATETIME;
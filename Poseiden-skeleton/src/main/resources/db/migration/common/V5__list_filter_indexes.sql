@@ -0,0 +1,3 @@
+-- Type filter of the bid and trade list screens; the other filter columns already lead a V2 index
+CREATE INDEX idx_bidlist_type_date ON bidlist (type, bidListDate);
+CREATE INDEX idx_trade_type_date ON trade (type, tradeDate);
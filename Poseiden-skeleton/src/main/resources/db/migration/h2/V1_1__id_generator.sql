@@ -0,0 +1,2 @@
+-- Ids of every entity (GenerationType.AUTO)
+CREATE SEQUENCE IF NOT EXISTS hibernate_sequence START WITH 1 INCREMENT BY 1;
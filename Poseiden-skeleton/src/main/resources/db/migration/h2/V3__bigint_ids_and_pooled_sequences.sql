@@ -0,0 +1,17 @@
+-- BIGINT ids, each entity drawing blocks of 50 from its own sequence (allocationSize of its @SequenceGenerator).
+-- H2 only backs the in-memory databases, which are empty when this runs.
+ALTER TABLE bidlist ALTER COLUMN BidListId BIGINT NOT NULL;
+ALTER TABLE trade ALTER COLUMN TradeId BIGINT NOT NULL;
+ALTER TABLE curvepoint ALTER COLUMN Id BIGINT NOT NULL;
+ALTER TABLE rating ALTER COLUMN Id BIGINT NOT NULL;
+ALTER TABLE rulename ALTER COLUMN Id BIGINT NOT NULL;
+ALTER TABLE users ALTER COLUMN id BIGINT NOT NULL;
+
+CREATE SEQUENCE bidlist_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE trade_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE curvepoint_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE rating_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE rulename_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+
+DROP SEQUENCE hibernate_sequence;
@@ -0,0 +1,40 @@
+-- The former doc/data.sql created mixed-case tables (BidList, Users...), which the later migrations and the entities
+-- name in lowercase. With lower_case_table_names=0, the Linux default, MySQL table names are case-sensitive, so
+-- databases baselined at V1 from that script get their tables renamed first. Elsewhere, and on databases created
+-- by V1, no table has a mixed-case name and each statement below is a no-op.
+
+SET @rename = (SELECT IF(COUNT(*) > 0, 'RENAME TABLE `BidList` TO `bidlist`', 'DO 0') FROM information_schema.tables
+                WHERE table_schema = DATABASE() AND table_name = BINARY 'BidList');
+PREPARE rename_table FROM @rename;
+EXECUTE rename_table;
+DEALLOCATE PREPARE rename_table;
+
+SET @rename = (SELECT IF(COUNT(*) > 0, 'RENAME TABLE `Trade` TO `trade`', 'DO 0') FROM information_schema.tables
+                WHERE table_schema = DATABASE() AND table_name = BINARY 'Trade');
+PREPARE rename_table FROM @rename;
+EXECUTE rename_table;
+DEALLOCATE PREPARE rename_table;
+
+SET @rename = (SELECT IF(COUNT(*) > 0, 'RENAME TABLE `CurvePoint` TO `curvepoint`', 'DO 0') FROM information_schema.tables
+                WHERE table_schema = DATABASE() AND table_name = BINARY 'CurvePoint');
+PREPARE rename_table FROM @rename;
+EXECUTE rename_table;
+DEALLOCATE PREPARE rename_table;
+
+SET @rename = (SELECT IF(COUNT(*) > 0, 'RENAME TABLE `Rating` TO `rating`', 'DO 0') FROM information_schema.tables
+                WHERE table_schema = DATABASE() AND table_name = BINARY 'Rating');
+PREPARE rename_table FROM @rename;
+EXECUTE rename_table;
+DEALLOCATE PREPARE rename_table;
+
+SET @rename = (SELECT IF(COUNT(*) > 0, 'RENAME TABLE `RuleName` TO `rulename`', 'DO 0') FROM information_schema.tables
+                WHERE table_schema = DATABASE() AND table_name = BINARY 'RuleName');
+PREPARE rename_table FROM @rename;
+EXECUTE rename_table;
+DEALLOCATE PREPARE rename_table;
+
+SET @rename = (SELECT IF(COUNT(*) > 0, 'RENAME TABLE `Users` TO `users`', 'DO 0') FROM information_schema.tables
+                WHERE table_schema = DATABASE() AND table_name = BINARY 'Users');
+PREPARE rename_table FROM @rename;
+EXECUTE rename_table;
+DEALLOCATE PREPARE rename_table;
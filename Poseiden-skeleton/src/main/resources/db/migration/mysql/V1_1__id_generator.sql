@@ -0,0 +1,16 @@
+-- Ids of every entity (GenerationType.AUTO): MySQL has no sequences, Hibernate emulates one with this table.
+-- Databases baselined at V1 may already have it, or ids assigned by AUTO_INCREMENT columns.
+CREATE TABLE IF NOT EXISTS hibernate_sequence (
+  next_val BIGINT
+);
+
+INSERT INTO hibernate_sequence (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM (
+  SELECT MAX(BidListId) AS id FROM bidlist
+  UNION ALL SELECT MAX(TradeId) FROM trade
+  UNION ALL SELECT MAX(Id) FROM curvepoint
+  UNION ALL SELECT MAX(Id) FROM rating
+  UNION ALL SELECT MAX(Id) FROM rulename
+  UNION ALL SELECT MAX(id) FROM users
+) ids
+WHERE NOT EXISTS (SELECT * FROM hibernate_sequence);
@@ -0,0 +1,24 @@
+-- BIGINT ids, each entity drawing blocks of 50 from its own sequence (allocationSize of its @SequenceGenerator).
+-- MySQL has no sequences: Hibernate keeps each one as a single-row table and adds 50 to next_val per block.
+ALTER TABLE bidlist MODIFY BidListId BIGINT NOT NULL;
+ALTER TABLE trade MODIFY TradeId BIGINT NOT NULL;
+ALTER TABLE curvepoint MODIFY Id BIGINT NOT NULL;
+ALTER TABLE rating MODIFY Id BIGINT NOT NULL;
+ALTER TABLE rulename MODIFY Id BIGINT NOT NULL;
+ALTER TABLE users MODIFY id BIGINT NOT NULL;
+
+-- The pooled optimizer hands out (next_val - 49) to next_val, so existing ids must stay below next_val - 49
+CREATE TABLE bidlist_seq (next_val BIGINT);
+INSERT INTO bidlist_seq SELECT COALESCE(MAX(BidListId), 0) + 50 FROM bidlist;
+CREATE TABLE trade_seq (next_val BIGINT);
+INSERT INTO trade_seq SELECT COALESCE(MAX(TradeId), 0) + 50 FROM trade;
+CREATE TABLE curvepoint_seq (next_val BIGINT);
+INSERT INTO curvepoint_seq SELECT COALESCE(MAX(Id), 0) + 50 FROM curvepoint;
+CREATE TABLE rating_seq (next_val BIGINT);
+INSERT INTO rating_seq SELECT COALESCE(MAX(Id), 0) + 50 FROM rating;
+CREATE TABLE rulename_seq (next_val BIGINT);
+INSERT INTO rulename_seq SELECT COALESCE(MAX(Id), 0) + 50 FROM rulename;
+CREATE TABLE users_seq (next_val BIGINT);
+INSERT INTO users_seq SELECT COALESCE(MAX(id), 0) + 50 FROM users;
+
+DROP TABLE hibernate_sequence;
@@ -0,0 +1,4 @@
+-- Databases created from the former doc/data.sql (baselined at V1) kept its TINYINT curve ids and rating orders,
+-- which Hibernate's schema validation rejects for the Integer fields. Fresh databases already have INT.
+ALTER TABLE curvepoint MODIFY curveId INT;
+ALTER TABLE rating MODIFY orderNumber INT;
@@ -0,0 +1,13 @@
+-- Administrator and user accounts of the former doc/data.sql, unless the database was created from that script.
+-- Each id is taken from users_seq, which is then moved a block further so the pooled optimizer never hands it out.
+INSERT INTO users (id, fullname, username, password, role)
+SELECT next_val, 'Administrator', 'admin', '$2a$10$pBV8ILO/s/nao4wVnGLrh.sa/rnr5pDpbeC4E.KNzQWoy8obFZdaa', 'ADMIN'
+FROM users_seq
+WHERE NOT EXISTS (SELECT * FROM users WHERE username = 'admin');
+UPDATE users_seq SET next_val = next_val + 50;
+
+INSERT INTO users (id, fullname, username, password, role)
+SELECT next_val, 'User', 'user', '$2a$10$pBV8ILO/s/nao4wVnGLrh.sa/rnr5pDpbeC4E.KNzQWoy8obFZdaa', 'USER'
+FROM users_seq
+WHERE NOT EXISTS (SELECT * FROM users WHERE username = 'user');
+UPDATE users_seq SET next_val = next_val + 50;
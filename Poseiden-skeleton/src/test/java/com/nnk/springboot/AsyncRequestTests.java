@@ -0,0 +1,75 @@
+package com.nnk.springboot;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+		"app.web.async.list-pool-size=1",
+		"app.web.async.list-queue-capacity=1",
+		"app.web.async.list-timeout-ms=5000"})
+public class AsyncRequestTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private AsyncTaskExecutor listTaskExecutor;
+
+	@Test
+	public void listTimeoutTest() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+		MvcResult result = mockMvc.perform(get("/trade/list"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		// List pages do not inherit the 30 minutes allowed to exports
+		Assert.assertEquals(5000, result.getRequest().getAsyncContext().getTimeout());
+	}
+
+	@Test
+	public void listQueueFullTest() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Runnable blocked = () -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+		// Wait for list pages of other tests to finish
+		ThreadPoolExecutor executor = ((ThreadPoolTaskExecutor) listTaskExecutor).getThreadPoolExecutor();
+		while (executor.getActiveCount() > 0 || !executor.getQueue().isEmpty()) {
+			Thread.sleep(10);
+		}
+		try {
+			// Busy thread and full queue
+			listTaskExecutor.execute(blocked);
+			started.await();
+			listTaskExecutor.execute(blocked);
+			mockMvc.perform(get("/trade/list"))
+					.andExpect(status().isServiceUnavailable());
+		} finally {
+			release.countDown();
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.controllers.CurveController;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ConditionalGetTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private CurvePointRepository curvePointRepository;
+
+	@Autowired
+	private CurveController curveController;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private MockMvc mockMvc;
+
+	@Before
+	public void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+	}
+
+	@After
+	public void cleanUp() {
+		curvePointRepository.deleteAll();
+	}
+
+	@Test
+	public void listNotModifiedTest() throws Exception {
+		curveController.validate(new CurvePoint(10, 10d, 30d), new BeanPropertyBindingResult(null, "curvePoint"),
+				new ExtendedModelMap());
+
+		String etag = mockMvc.perform(get("/curvePoint/list"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "private, no-cache"))
+				.andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		Assert.assertTrue(etag.startsWith("\"curvepoint-"));
+
+		// Revalidating an unchanged list answers 304 without querying
+		double queries = listQueries();
+		mockMvc.perform(get("/curvePoint/list").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+		Assert.assertEquals(queries, listQueries(), 0);
+
+		// A write through the controller changes the tag
+		curveController.validate(new CurvePoint(10, 20d, 40d), new BeanPropertyBindingResult(null, "curvePoint"),
+				new ExtendedModelMap());
+		String changed = mockMvc.perform(get("/curvePoint/list").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		Assert.assertNotEquals(etag, changed);
+		Assert.assertEquals(queries + 1, listQueries(), 0);
+	}
+
+	@Test
+	public void staticResourceCacheTest() throws Exception {
+		mockMvc.perform(get("/css/bootstrap.min.css"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public"));
+	}
+
+	private double listQueries() {
+		// The list reads its rows at once, or in batches while rendering (app.web.list-streaming)
+		double queries = 0;
+		for (String operation : new String[]{"findListRows", "findSlice"}) {
+			Timer timer = meterRegistry.find("app.repository.invocations")
+					.tag("entity", "CurvePoint").tag("operation", operation).timer();
+			queries += timer == null ? 0 : timer.count();
+		}
+		return queries;
+	}
+}
@@ -0,0 +1,109 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.services.CsvImportService;
+import com.nnk.springboot.services.ImportReport;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.servlet.Filter;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class CsvImportTests {
+
+	@Autowired
+	private CsvImportService csvImportService;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@Autowired
+	private BidListRepository bidListRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private Filter springSecurityFilterChain;
+
+	@After
+	public void cleanUp() {
+		tradeRepository.deleteAll();
+		bidListRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	public void tradeImportTest() throws Exception {
+		String csv = "tradeId,account,type,buyQuantity,tradeDate,unknown\r\n"
+				+ "99,Account 1,Type,10,2019-03-09 11:26:00,x\r\n"
+				+ ",Missing type,,20,,\r\n"
+				+ ",\"Account, 3\",Type,not a number,,\r\n"
+				+ ",Account 4,Type,40,,\r\n";
+
+		ImportReport report = csvImportService.importTrades("trades.csv",
+				new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+		Assert.assertEquals(4, report.getRowsRead());
+		Assert.assertEquals(2, report.getRowsImported());
+		Assert.assertEquals(2, report.getRowsRejected());
+		Assert.assertEquals(3, report.getErrors().get(0).getRecord());
+		Assert.assertEquals(4, report.getErrors().get(1).getRecord());
+		Assert.assertTrue(report.getIgnoredColumns().contains("tradeId"));
+		Assert.assertTrue(report.getIgnoredColumns().contains("unknown"));
+		Assert.assertEquals(2, tradeRepository.count());
+	}
+
+	@Test
+	public void bidImportOverHttpTest() throws Exception {
+		User user = new User();
+		user.setUsername("importer");
+		user.setPassword(passwordEncoder.encode("secret"));
+		user.setFullname("Importer");
+		user.setRole("USER");
+		userRepository.save(user);
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).addFilters(springSecurityFilterChain).build();
+		MockMultipartFile file = new MockMultipartFile("file", "bids.csv", "text/csv",
+				"account,type,bidQuantity\r\nAccount 1,Type,10\r\n".getBytes(StandardCharsets.UTF_8));
+
+		// Basic authentication, as with curl -u, needs no CSRF token
+		mockMvc.perform(multipart("/bidList/import").file(file).header(HttpHeaders.AUTHORIZATION, "Basic "
+				+ Base64.getEncoder().encodeToString("importer:secret".getBytes(StandardCharsets.UTF_8))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.rowsImported").value(1));
+		Assert.assertEquals(1, bidListRepository.count());
+
+		// Without credentials in the request, as from a browser session, the token is still required
+		mockMvc.perform(multipart("/bidList/import").file(file))
+				.andExpect(status().isForbidden());
+		Assert.assertEquals(1, bidListRepository.count());
+	}
+}
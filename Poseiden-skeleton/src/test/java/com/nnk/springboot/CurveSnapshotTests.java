@@ -0,0 +1,105 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.services.CurveSnapshotFile;
+import com.nnk.springboot.services.CurveSnapshotNotFoundException;
+import com.nnk.springboot.services.CurveSnapshotService;
+import com.nnk.springboot.services.Interpolation;
+import com.nnk.springboot.services.YieldCurve;
+import com.nnk.springboot.services.YieldCurveService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.sql.Timestamp;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class CurveSnapshotTests {
+
+	private static final Timestamp MONDAY = Timestamp.valueOf("2019-03-04 00:00:00");
+	private static final Timestamp TUESDAY = Timestamp.valueOf("2019-03-05 00:00:00");
+
+	@Autowired
+	private CurvePointRepository curvePointRepository;
+
+	@Autowired
+	private CurveSnapshotService curveSnapshotService;
+
+	@Autowired
+	private YieldCurveService yieldCurveService;
+
+	@After
+	public void cleanUp() {
+		curvePointRepository.deleteAll();
+	}
+
+	@Test
+	public void exportAndMapTest() {
+		save(TUESDAY, 2, 4);
+		save(MONDAY, 1, 1);
+		save(MONDAY, 3, 3);
+		save(TUESDAY, 1, 2);
+		// Same date and term, the later point wins
+		save(MONDAY, 3, 9);
+		// Not part of any snapshot
+		curvePointRepository.save(new CurvePoint(20, 5d, 5d));
+
+		curveSnapshotService.export(20);
+		CurveSnapshotFile snapshots = curveSnapshotService.open(20);
+		Assert.assertEquals(20, snapshots.getCurveId());
+		Assert.assertEquals(2, snapshots.size());
+		Assert.assertEquals(4, snapshots.pointCount());
+		Assert.assertEquals(MONDAY, snapshots.getAsOfDate(0));
+		Assert.assertEquals(1, snapshots.indexOf(TUESDAY));
+		Assert.assertEquals(-2, snapshots.indexOf(Timestamp.valueOf("2019-03-04 12:00:00")));
+
+		// Interpolated straight from the mapping, the same as the copied curve
+		Assert.assertEquals(5, snapshots.linear(0, 2), 1e-12);
+		Assert.assertEquals(3, snapshots.linear(1, 1.5), 1e-12);
+		Assert.assertEquals(4, snapshots.linear(1, 10), 0);
+		YieldCurve monday = snapshots.curve(0);
+		Assert.assertArrayEquals(new double[]{1, 3}, monday.getTerms(), 0);
+		Assert.assertArrayEquals(new double[]{1, 9}, monday.getValues(), 0);
+		Assert.assertEquals(monday.linear(2.5), snapshots.linear(0, 2.5), 1e-12);
+
+		// A new export replaces the file
+		save(MONDAY, 2, 0);
+		Assert.assertEquals(0, curveSnapshotService.export(20).linear(0, 2), 0);
+	}
+
+	@Test
+	public void historicalCurveTest() {
+		save(MONDAY, 1, 1);
+		save(MONDAY, 3, 3);
+		save(TUESDAY, 1, 2);
+		save(TUESDAY, 3, 6);
+		curveSnapshotService.export(20);
+
+		Assert.assertEquals(2, yieldCurveService.interpolate(20, MONDAY, 2, Interpolation.LINEAR), 1e-12);
+		// Between two snapshots the earlier one applies, after the last the last one
+		Assert.assertEquals(2, yieldCurveService.interpolate(20, Timestamp.valueOf("2019-03-04 18:00:00"), 2, Interpolation.LINEAR), 1e-12);
+		Assert.assertEquals(4, yieldCurveService.interpolate(20, Timestamp.valueOf("2019-03-08 00:00:00"), 2, Interpolation.LINEAR), 1e-12);
+		try {
+			yieldCurveService.getCurve(20, Timestamp.valueOf("2019-03-01 00:00:00"));
+			Assert.fail("No snapshot that old");
+		} catch (CurveSnapshotNotFoundException expected) {
+		}
+		try {
+			curveSnapshotService.open(21);
+			Assert.fail("Curve 21 was never exported");
+		} catch (CurveSnapshotNotFoundException expected) {
+		}
+	}
+
+	private void save(Timestamp asOfDate, double term, double value) {
+		CurvePoint curvePoint = new CurvePoint(20, term, value);
+		curvePoint.setAsOfDate(asOfDate);
+		curvePointRepository.save(curvePoint);
+	}
+}
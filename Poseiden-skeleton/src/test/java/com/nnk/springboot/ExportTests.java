@@ -0,0 +1,61 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.CsvImportService;
+import com.nnk.springboot.services.ExportFormat;
+import com.nnk.springboot.services.ExportService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ExportTests {
+
+	@Autowired
+	private ExportService exportService;
+
+	@Autowired
+	private CsvImportService csvImportService;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@After
+	public void cleanUp() {
+		tradeRepository.deleteAll();
+	}
+
+	@Test
+	public void tradeExportTest() throws Exception {
+		Trade trade = new Trade("Account, with comma", "Type");
+		trade.setBuyQuantity(10d);
+		tradeRepository.save(trade);
+		tradeRepository.save(new Trade("Account 2", "Type"));
+
+		// NDJSON: one document per line
+		ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+		Assert.assertEquals(2, exportService.exportTrades(ExportFormat.NDJSON, ndjson));
+		String[] lines = ndjson.toString("UTF-8").split("\n");
+		Assert.assertEquals(2, lines.length);
+		Assert.assertTrue(lines[0].contains("\"account\":\"Account, with comma\""));
+
+		// CSV: header plus rows, readable back by the import
+		ByteArrayOutputStream csv = new ByteArrayOutputStream();
+		Assert.assertEquals(2, exportService.exportTrades(ExportFormat.CSV, csv));
+		Assert.assertTrue(csv.toString("UTF-8").startsWith("tradeId,account,type,buyQuantity"));
+		tradeRepository.deleteAll();
+		Assert.assertEquals(2, csvImportService.importTrades("trades.csv",
+				new ByteArrayInputStream(csv.toByteArray())).getRowsImported());
+		Assert.assertEquals(2, tradeRepository.count());
+	}
+}
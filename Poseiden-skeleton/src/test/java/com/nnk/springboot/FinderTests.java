@@ -0,0 +1,103 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class FinderTests {
+
+	@Autowired
+	private BidListRepository bidListRepository;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@Autowired
+	private CurvePointRepository curvePointRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@After
+	public void cleanUp() {
+		bidListRepository.deleteAll();
+		tradeRepository.deleteAll();
+		curvePointRepository.deleteAll();
+	}
+
+	@Test
+	public void bidFinderTest() {
+		for (int day = 1; day <= 10; day++) {
+			BidList bid = new BidList(day % 2 == 0 ? "Account Even" : "Account Odd", "Type", (double) day);
+			bid.setBook("Book F");
+			bid.setTrader("Trader F");
+			bid.setStatus("OPEN");
+			bid.setBidListDate(Timestamp.valueOf("2019-03-" + String.format("%02d", day) + " 10:00:00"));
+			bidListRepository.save(bid);
+		}
+		PageRequest all = PageRequest.of(0, 100, Sort.by("bidListDate"));
+
+		Assert.assertEquals(5, bidListRepository.findByAccount("Account Even", all).size());
+		Assert.assertEquals(10, bidListRepository.findByBook("Book F", all).size());
+		Assert.assertEquals(10, bidListRepository.findByTrader("Trader F", all).size());
+		Assert.assertEquals(10, bidListRepository.findByStatus("OPEN", all).size());
+		Assert.assertEquals(2, bidListRepository.findByBook("Book F", PageRequest.of(0, 2)).size());
+
+		Timestamp from = Timestamp.valueOf("2019-03-03 00:00:00");
+		Timestamp to = Timestamp.valueOf("2019-03-06 23:59:59");
+		Assert.assertEquals(4, bidListRepository.findByBidListDateBetween(from, to, all).size());
+		List<BidList> even = bidListRepository.findByAccountAndBidListDateBetween("Account Even", from, to, all);
+		Assert.assertEquals(2, even.size());
+		Assert.assertEquals(4, even.get(0).getBidQuantity(), 0);
+		Assert.assertEquals(4, bidListRepository.findByBookAndBidListDateBetween("Book F", from, to, all).size());
+	}
+
+	@Test
+	public void tradeAndCurveFinderTest() {
+		Trade trade = new Trade("Account F", "Type");
+		trade.setBook("Book F");
+		trade.setTradeDate(Timestamp.valueOf("2019-03-09 11:26:00"));
+		tradeRepository.save(trade);
+		Timestamp from = Timestamp.valueOf("2019-03-09 00:00:00");
+		Timestamp to = Timestamp.valueOf("2019-03-10 00:00:00");
+
+		Assert.assertEquals(1, tradeRepository.findByAccountAndTradeDateBetween("Account F", from, to, PageRequest.of(0, 10)).size());
+		Assert.assertEquals(0, tradeRepository.findByBookAndTradeDateBetween("Book F", to, to, PageRequest.of(0, 10)).size());
+
+		Timestamp asOf = Timestamp.valueOf("2019-03-09 00:00:00");
+		for (int term = 1; term <= 3; term++) {
+			CurvePoint point = new CurvePoint(7, (double) term, 0.01 * term);
+			point.setAsOfDate(term < 3 ? asOf : to);
+			curvePointRepository.save(point);
+		}
+		Assert.assertEquals(2, curvePointRepository.findByCurveIdAndAsOfDate(7, asOf).size());
+	}
+
+	@Test
+	public void migrationIndexesTest() {
+		List<String> indexes = jdbcTemplate.queryForList(
+				"select distinct upper(index_name) from information_schema.indexes where upper(table_name) in ('BIDLIST', 'TRADE', 'CURVEPOINT')",
+				String.class);
+		Assert.assertTrue(indexes.contains("IDX_BIDLIST_ACCOUNT_DATE"));
+		Assert.assertTrue(indexes.contains("IDX_TRADE_BOOK_DATE"));
+		Assert.assertTrue(indexes.contains("IDX_CURVEPOINT_CURVE_DATE"));
+	}
+}
@@ -0,0 +1,58 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.repositories.BidListRepository;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class IdGeneratorTests {
+
+	@Autowired
+	private BidListRepository bidListRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@After
+	public void cleanUp() {
+		bidListRepository.deleteAll();
+	}
+
+	@Test
+	public void pooledSequenceTest() {
+		long before = sequenceValue();
+		List<BidList> bids = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			bids.add(new BidList("Account " + i, "Type", (double) i));
+		}
+		bids = bidListRepository.saveAll(bids);
+
+		Set<Long> ids = new HashSet<>();
+		for (BidList bid : bids) {
+			ids.add(bid.getBidListId());
+		}
+		Assert.assertEquals(120, ids.size());
+		// Ids come in blocks of 50: a handful of sequence calls for 120 rows, not one per row
+		long calls = (sequenceValue() - before) / 50;
+		Assert.assertTrue("sequence called " + calls + " times", calls <= 4);
+	}
+
+	private long sequenceValue() {
+		return jdbcTemplate.queryForObject(
+				"select current_value from information_schema.sequences where upper(sequence_name) = 'BIDLIST_SEQ'",
+				Long.class);
+	}
+}
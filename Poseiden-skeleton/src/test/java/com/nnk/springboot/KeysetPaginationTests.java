@@ -0,0 +1,59 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.BidListRow;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.services.BidListService;
+import com.nnk.springboot.services.KeysetPage;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class KeysetPaginationTests {
+
+	@Autowired
+	private BidListRepository bidListRepository;
+
+	@Autowired
+	private BidListService bidListService;
+
+	@After
+	public void cleanUp() {
+		bidListRepository.deleteAll();
+	}
+
+	@Test
+	public void bidListPagesTest() {
+		for (int i = 0; i < 5; i++) {
+			bidListRepository.save(new BidList("Account " + i, "Type", (double) i));
+		}
+
+		// First page holds the newest rows
+		KeysetPage<BidListRow> first = bidListService.findPage(null, 2);
+		Assert.assertEquals(2, first.getContent().size());
+		Assert.assertEquals("Account 4", first.getContent().get(0).getAccount());
+		Assert.assertTrue(first.hasNext());
+
+		// Following tokens walk the table without overlap
+		List<BidListRow> all = new ArrayList<>(first.getContent());
+		KeysetPage<BidListRow> page = first;
+		while (page.hasNext()) {
+			page = bidListService.findPage(page.getNextToken(), 2);
+			all.addAll(page.getContent());
+		}
+		Assert.assertEquals(5, all.size());
+		Assert.assertEquals("Account 0", all.get(4).getAccount());
+
+		// Requested sizes are clamped
+		Assert.assertEquals(500, bidListService.findPage(null, 100000).getSize());
+	}
+}
@@ -0,0 +1,57 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.config.BeanTimingReport;
+import com.nnk.springboot.config.StartupWarmup;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.thymeleaf.cache.TemplateCacheKey;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("lazy")
+public class LazyStartupTests {
+
+	@Autowired
+	private ConfigurableApplicationContext context;
+
+	@Autowired
+	private StartupWarmup startupWarmup;
+
+	@Autowired
+	private BeanTimingReport beanTimingReport;
+
+	@Test
+	public void lazyStartupTest() throws InterruptedException {
+		// Controllers wait for their first request, the position rebuild still ran at startup
+		Assert.assertFalse(context.getBeanFactory().containsSingleton("tradeController"));
+		Assert.assertTrue(context.getBeanFactory().containsSingleton("positionService"));
+
+		// The instance reports out of service until the background warm-up is done
+		for (int i = 0; i < 600 && !startupWarmup.isDone(); i++) {
+			Thread.sleep(100);
+		}
+		Assert.assertTrue(startupWarmup.isDone());
+		Assert.assertEquals(Status.UP, startupWarmup.health().getStatus());
+		Assert.assertTrue(context.getBeanFactory().containsSingleton("ratingService"));
+		// The list templates were parsed before any user asked for them
+		Set<String> cached = context.getBean(SpringTemplateEngine.class).getConfiguration().getCacheManager()
+				.getTemplateCache().keySet().stream().map(TemplateCacheKey::getTemplate).collect(Collectors.toSet());
+		Assert.assertTrue(cached.toString(), cached.containsAll(Arrays.asList(
+				"bidList/list", "trade/list", "curvePoint/list", "rating/list", "ruleName/list", "user/list")));
+
+		Assert.assertTrue(beanTimingReport.getCreated().stream()
+				.anyMatch(creation -> creation.getBeanName().equals("entityManagerFactory")));
+	}
+}
@@ -0,0 +1,187 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.BidListRow;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.repositories.RatingRepository;
+import com.nnk.springboot.services.BidListService;
+import com.nnk.springboot.services.CurvePointService;
+import com.nnk.springboot.services.KeysetPage;
+import com.nnk.springboot.services.ListFilter;
+import com.nnk.springboot.services.RatingService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ListFilterTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private BidListService bidListService;
+
+	@Autowired
+	private BidListRepository bidListRepository;
+
+	@Autowired
+	private CurvePointService curvePointService;
+
+	@Autowired
+	private CurvePointRepository curvePointRepository;
+
+	@Autowired
+	private RatingService ratingService;
+
+	@Autowired
+	private RatingRepository ratingRepository;
+
+	@After
+	public void cleanUp() {
+		bidListRepository.deleteAll();
+		curvePointRepository.deleteAll();
+		ratingRepository.deleteAll();
+	}
+
+	@Test
+	public void bidFilterTest() {
+		for (int i = 0; i < 10; i++) {
+			BidList bid = new BidList("Account F" + i % 2, i % 3 == 0 ? "Swap" : "Bond", (double) i);
+			bid.setStatus(i < 5 ? "OPEN" : "CLOSED");
+			bid.setBidListDate(Timestamp.valueOf(LocalDate.of(2019, 3, i + 1).atTime(12, 0)));
+			bid.setSecurity("SEC" + i);
+			bid.setCommentary(i == 7 ? "Rolled 100% of the position" : null);
+			bidListRepository.save(bid);
+		}
+
+		ListFilter filter = new ListFilter();
+		filter.setAccount("Account F0");
+		filter.setStatus("OPEN");
+		Assert.assertEquals(list(4d, 2d, 0d), quantities(bidListService.findPage(filter, null, 10)));
+
+		filter = new ListFilter();
+		filter.setType("Swap");
+		filter.setFrom(LocalDate.of(2019, 3, 4));
+		filter.setTo(LocalDate.of(2019, 3, 10));
+		Assert.assertEquals(list(9d, 6d, 3d), quantities(bidListService.findPage(filter, null, 10)));
+
+		// Free text is case-insensitive and matches wildcards literally
+		filter = new ListFilter();
+		filter.setQ("sec3");
+		Assert.assertEquals(list(3d), quantities(bidListService.findPage(filter, null, 10)));
+		filter.setQ("100%");
+		Assert.assertEquals(list(7d), quantities(bidListService.findPage(filter, null, 10)));
+		filter.setQ("_");
+		Assert.assertTrue(bidListService.findPage(filter, null, 10).getContent().isEmpty());
+	}
+
+	@Test
+	public void sortedPagesTest() {
+		for (int i = 0; i < 5; i++) {
+			bidListRepository.save(new BidList("Account S", "Type", (double) (i * 7 % 5)));
+		}
+		ListFilter filter = new ListFilter();
+		filter.setSort("quantity");
+		filter.setDir("desc");
+
+		List<Double> quantities = new ArrayList<>();
+		KeysetPage<BidListRow> page = bidListService.findPage(filter, null, 2);
+		quantities.addAll(quantities(page));
+		while (page.hasNext()) {
+			page = bidListService.findPage(filter, page.getNextToken(), 2);
+			quantities.addAll(quantities(page));
+		}
+		Assert.assertEquals(list(4d, 3d, 2d, 1d, 0d), quantities);
+
+		filter.setSort("commentary");
+		try {
+			bidListService.findPage(filter, null, 2);
+			Assert.fail("Unknown sort accepted");
+		} catch (IllegalArgumentException e) {
+			Assert.assertEquals("Invalid sort:commentary", e.getMessage());
+		}
+	}
+
+	@Test
+	public void curveAndRatingFilterTest() {
+		CurvePoint point = new CurvePoint(5, 2d, 1d);
+		point.setAsOfDate(Timestamp.valueOf("2019-03-04 00:00:00"));
+		curvePointRepository.save(point);
+		curvePointRepository.save(new CurvePoint(5, 1d, 1d));
+		curvePointRepository.save(new CurvePoint(6, 1d, 1d));
+		ListFilter filter = new ListFilter();
+		filter.setCurveId(5);
+		filter.setSort("term");
+		Assert.assertEquals(2, curvePointService.findAll(filter).size());
+		Assert.assertEquals(1d, curvePointService.findAll(filter).get(0).getTerm(), 0);
+		filter.setFrom(LocalDate.of(2019, 3, 4));
+		Assert.assertEquals(1, curvePointService.findAll(filter).size());
+
+		ratingRepository.save(new Rating("Aaa", "AAA", "AAA", 1));
+		ratingRepository.save(new Rating("Baa1", "BBB+", "BBB+", 2));
+		filter = new ListFilter();
+		filter.setQ("bbb");
+		Assert.assertEquals("Baa1", ratingService.findAll(filter).get(0).getMoodysRating());
+		Assert.assertEquals(1, ratingService.findAll(filter).size());
+	}
+
+	@Test
+	public void invalidListRequestTest() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+		bidList(mockMvc, "/bidList/list?sort=account&cursor=" + token("1"), 200);
+
+		bidList(mockMvc, "/bidList/list?sort=bogus", 400);
+		bidList(mockMvc, "/bidList/list?cursor=" + token("not a number"), 400);
+		bidList(mockMvc, "/bidList/list?cursor=%25%25", 400);
+		// Page numbers must be positive and their offset fit in an int
+		bidList(mockMvc, "/bidList/list?sort=account&cursor=" + token("-1"), 400);
+		bidList(mockMvc, "/bidList/list?sort=account&cursor=" + token("2147483648"), 400);
+		bidList(mockMvc, "/bidList/list?sort=account&size=10&cursor=" + token("214748365"), 400);
+	}
+
+	private static void bidList(MockMvc mockMvc, String url, int expectedStatus) throws Exception {
+		MvcResult result = mockMvc.perform(get(url)).andReturn();
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().is(expectedStatus));
+	}
+
+	private static String token(String value) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static List<Double> quantities(KeysetPage<BidListRow> page) {
+		return page.getContent().stream().map(BidListRow::getBidQuantity).collect(Collectors.toList());
+	}
+
+	private static List<Double> list(Double... values) {
+		List<Double> list = new ArrayList<>();
+		for (Double value : values) {
+			list.add(value);
+		}
+		return list;
+	}
+}
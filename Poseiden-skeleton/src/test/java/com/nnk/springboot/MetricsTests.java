@@ -0,0 +1,82 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.TradeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class MetricsTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@After
+	public void cleanUp() {
+		tradeRepository.deleteAll();
+	}
+
+	@Test
+	public void repositoryAndEntityMetricsTest() {
+		Trade trade = tradeRepository.save(new Trade("Trade Account", "Type"));
+		tradeRepository.findById(trade.getTradeId());
+
+		Assert.assertTrue(meterRegistry.get("app.repository.invocations")
+				.tag("entity", "Trade").tag("operation", "save").timer().count() >= 1);
+		Assert.assertTrue(meterRegistry.get("app.repository.invocations")
+				.tag("entity", "Trade").tag("operation", "findById").timer().count() >= 1);
+		Assert.assertTrue(meterRegistry.get("hibernate.entity.inserts")
+				.tag("entity", "Trade").functionCounter().count() >= 1);
+		Assert.assertNotNull(meterRegistry.get("hibernate.entity.cache.requests")
+				.tag("entity", "Trade").tag("result", "hit").functionCounter());
+	}
+
+	@Test
+	public void connectionPoolMetricsTest() {
+		tradeRepository.save(new Trade("Trade Account", "Type"));
+
+		Assert.assertNotNull(meterRegistry.get("hikaricp.connections.active").tag("pool", "poseidon").gauge());
+		Assert.assertNotNull(meterRegistry.get("hikaricp.connections.idle").tag("pool", "poseidon").gauge());
+		Assert.assertNotNull(meterRegistry.get("hikaricp.connections.pending").tag("pool", "poseidon").gauge());
+		Timer acquire = meterRegistry.get("hikaricp.connections.acquire").tag("pool", "poseidon").timer();
+		Assert.assertTrue(acquire.count() >= 1);
+		Assert.assertTrue(acquire.takeSnapshot().histogramCounts().length > 0);
+	}
+
+	@Test
+	public void controllerMetricsTest() throws Exception {
+		tradeRepository.save(new Trade("Trade Account", "Type"));
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+		// The list page is handled asynchronously, then dispatched back to render
+		MvcResult result = mockMvc.perform(get("/trade/list")).andExpect(request().asyncStarted()).andReturn();
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+		Assert.assertEquals(1, meterRegistry.get("app.controller.handle")
+				.tag("controller", "TradeController").tag("method", "home").timer().count());
+		Assert.assertEquals(1, meterRegistry.get("app.view.render")
+				.tag("controller", "TradeController").tag("method", "home").timer().count());
+	}
+}
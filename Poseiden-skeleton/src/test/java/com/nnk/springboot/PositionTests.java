@@ -0,0 +1,164 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.CsvImportService;
+import com.nnk.springboot.services.Position;
+import com.nnk.springboot.services.PositionService;
+import com.nnk.springboot.services.TradeService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "app.write-behind.enabled=false")
+public class PositionTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private TradeService tradeService;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@Autowired
+	private CsvImportService csvImportService;
+
+	@Autowired
+	private PositionService positionService;
+
+	@After
+	public void cleanUp() {
+		tradeRepository.deleteAll();
+		positionService.rebuild();
+	}
+
+	@Test
+	public void incrementalRollupTest() {
+		Trade buy = tradeService.save(trade("Account P1", "Book P", "SEC1", 100d, null, 10d, null));
+		tradeService.save(trade("Account P1", "Book P", "SEC1", null, 40d, null, 12d));
+		tradeService.save(trade("Account P2", "Book P", "SEC2", 10d, null, 5d, null));
+
+		Position position = positionService.position("Account P1", "Book P", "SEC1");
+		Assert.assertEquals(60, position.getNetQuantity(), 1e-9);
+		Assert.assertEquals(10, position.getAverageBuyPrice(), 1e-9);
+		Assert.assertEquals(12, position.getAverageSellPrice(), 1e-9);
+		Assert.assertEquals(2, position.getTradeCount());
+		Assert.assertEquals(3, positionService.bookPosition("Book P").getTradeCount());
+		Assert.assertEquals(70, positionService.bookPosition("Book P").getNetQuantity(), 1e-9);
+
+		// Moving a trade to another security moves its contribution
+		Trade update = trade("Account P1", "Book P", "SEC2", 50d, null, 10d, null);
+		update.setTradeId(buy.getTradeId());
+		tradeService.save(update);
+		Assert.assertEquals(-40, positionService.position("Account P1", "Book P", "SEC1").getNetQuantity(), 1e-9);
+		Assert.assertEquals(50, positionService.position("Account P1", "Book P", "SEC2").getNetQuantity(), 1e-9);
+		Assert.assertEquals(10, positionService.accountPosition("Account P1").getNetQuantity(), 1e-9);
+
+		tradeService.delete(buy.getTradeId());
+		Assert.assertEquals(0, positionService.position("Account P1", "Book P", "SEC2").getTradeCount());
+		Assert.assertEquals(2, positionService.bookPosition("Book P").getTradeCount());
+		Assert.assertSame(Position.EMPTY, positionService.bookPosition("Unknown book"));
+	}
+
+	@Test
+	public void updateFormTest() throws Exception {
+		Trade saved = tradeService.save(trade("Account F", "Book F", "SEC1", 10d, null, 1d, null));
+
+		// Without write-behind the form saves synchronously, under the row lock
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+		mockMvc.perform(post("/trade/update/" + saved.getTradeId())
+				.param("account", "Account F")
+				.param("type", "Type")
+				.param("book", "Book F")
+				.param("security", "SEC2")
+				.param("buyQuantity", "25")
+				.param("buyPrice", "1"))
+				.andExpect(redirectedUrl("/trade/list"));
+
+		Assert.assertEquals(25, tradeRepository.findById(saved.getTradeId()).get().getBuyQuantity(), 1e-9);
+		Assert.assertEquals(0, positionService.position("Account F", "Book F", "SEC1").getTradeCount());
+		Assert.assertEquals(25, positionService.position("Account F", "Book F", "SEC2").getNetQuantity(), 1e-9);
+		Assert.assertEquals(1, positionService.bookPosition("Book F").getTradeCount());
+	}
+
+	@Test
+	public void concurrentUpdatesTest() throws Exception {
+		Trade saved = tradeService.save(trade("Account C", "Book C", "SEC0", 10d, null, 1d, null));
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> updates = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				Trade update = trade("Account C", "Book C", "SEC" + i % 4, 10d + i, null, 1d, null);
+				update.setTradeId(saved.getTradeId());
+				updates.add(executor.submit(() -> tradeService.save(update)));
+			}
+			for (Future<?> update : updates) {
+				update.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		// Each edit removed the contribution of the one committed before it: one trade, counted once
+		Position book = positionService.bookPosition("Book C");
+		Assert.assertEquals(1, book.getTradeCount());
+		Assert.assertEquals(tradeRepository.findById(saved.getTradeId()).get().getBuyQuantity(),
+				book.getNetQuantity(), 1e-9);
+	}
+
+	@Test
+	public void importAndRebuildTest() throws IOException {
+		StringBuilder csv = new StringBuilder("account,type,buyQuantity,sellQuantity,buyPrice,sellPrice,security,book\n");
+		for (int i = 0; i < 200; i++) {
+			csv.append("Account I").append(i % 4).append(",Type,10,4,2,3,SEC").append(i % 5).append(",Book I\n");
+		}
+		csvImportService.importTrades("trades.csv", new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+		Position imported = positionService.bookPosition("Book I");
+		Assert.assertEquals(200, imported.getTradeCount());
+		Assert.assertEquals(1200, imported.getNetQuantity(), 1e-9);
+		Assert.assertEquals(50, positionService.accountPosition("Account I1").getTradeCount());
+
+		// A rebuild from the table finds the same aggregates
+		positionService.rebuild();
+		Position rebuilt = positionService.bookPosition("Book I");
+		Assert.assertEquals(imported.getTradeCount(), rebuilt.getTradeCount());
+		Assert.assertEquals(imported.getBuyNotional(), rebuilt.getBuyNotional(), 1e-9);
+		Assert.assertEquals(imported.getSellNotional(), rebuilt.getSellNotional(), 1e-9);
+		Assert.assertEquals(10, positionService.position("Account I0", "Book I", "SEC0").getTradeCount());
+	}
+
+	private static Trade trade(String account, String book, String security, Double buyQuantity,
+							   Double sellQuantity, Double buyPrice, Double sellPrice) {
+		Trade trade = new Trade(account, "Type");
+		trade.setBook(book);
+		trade.setSecurity(security);
+		trade.setBuyQuantity(buyQuantity);
+		trade.setSellQuantity(sellQuantity);
+		trade.setBuyPrice(buyPrice);
+		trade.setSellPrice(sellPrice);
+		return trade;
+	}
+}
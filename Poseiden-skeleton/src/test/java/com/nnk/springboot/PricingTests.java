@@ -0,0 +1,178 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.services.BidPricingService;
+import com.nnk.springboot.services.PricingReport;
+import com.nnk.springboot.services.YieldCurveService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.servlet.Filter;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class PricingTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private BidPricingService bidPricingService;
+
+	@Autowired
+	private BidListRepository bidListRepository;
+
+	@Autowired
+	private CurvePointRepository curvePointRepository;
+
+	@Autowired
+	private YieldCurveService yieldCurveService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private Filter springSecurityFilterChain;
+
+	private MockMvc mockMvc;
+
+	@Before
+	public void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+	}
+
+	@After
+	public void cleanUp() {
+		bidListRepository.deleteAll();
+		curvePointRepository.deleteAll();
+		userRepository.findByUsername("pricer").ifPresent(userRepository::delete);
+		yieldCurveService.reload();
+	}
+
+	@Test
+	public void priceOpenBidsTest() {
+		curvePointRepository.save(new CurvePoint(1, 1d, 2d));
+		curvePointRepository.save(new CurvePoint(1, 10d, 4d));
+		BidList fiveYears = bidListRepository.save(bid("OPEN", "UST, 5Y", 2d, 2.2d));
+		BidList sixMonths = bidListRepository.save(bid("OPEN", "6M", 1.5d, null));
+		BidList noTenor = bidListRepository.save(bid("OPEN", "Benchmark", 2d, 2d));
+		BidList closed = bidListRepository.save(bid("CLOSED", "UST, 5Y", 2d, 2d));
+
+		PricingReport report = bidPricingService.price();
+		Assert.assertTrue(report.isFinished());
+		Assert.assertEquals(2, report.getBidsPriced());
+		Assert.assertEquals(1, report.getBidsSkipped());
+		Assert.assertEquals(report.getPartitionCount(), report.getPartitionsDone());
+		Assert.assertSame(report, bidPricingService.status());
+
+		// Linear between (1, 2) and (10, 4), marked against the mid
+		BidList marked = bidListRepository.findById(fiveYears.getBidListId()).get();
+		Assert.assertEquals(2 + 8d / 9, marked.getMarkPrice(), 1e-12);
+		Assert.assertEquals(10 * (2 + 8d / 9 - 2.1), marked.getMarkValue(), 1e-9);
+		Assert.assertEquals(report.getMarkDate(), marked.getMarkDate());
+
+		// Flat before the first term
+		marked = bidListRepository.findById(sixMonths.getBidListId()).get();
+		Assert.assertEquals(2, marked.getMarkPrice(), 0);
+		Assert.assertEquals(5, marked.getMarkValue(), 1e-12);
+
+		Assert.assertNull(bidListRepository.findById(noTenor.getBidListId()).get().getMarkPrice());
+		Assert.assertNull(bidListRepository.findById(closed.getBidListId()).get().getMarkPrice());
+	}
+
+	@Test
+	public void updateKeepsMarkTest() throws Exception {
+		curvePointRepository.save(new CurvePoint(1, 1d, 2d));
+		BidList bid = bidListRepository.save(bid("OPEN", "6M", 1.5d, null));
+		bidPricingService.price();
+		BidList marked = bidListRepository.findById(bid.getBidListId()).get();
+
+		// The form has no mark fields
+		mockMvc.perform(post("/bidList/update/" + bid.getBidListId())
+				.param("account", "Account Pricing")
+				.param("type", "Type")
+				.param("bidQuantity", "20")
+				.param("status", "OPEN")
+				.param("benchmark", "6M")
+				.param("bid", "1.5"))
+				.andExpect(status().is3xxRedirection());
+
+		BidList updated = bidListRepository.findById(bid.getBidListId()).get();
+		Assert.assertEquals(20, updated.getBidQuantity(), 0);
+		Assert.assertEquals(marked.getMarkPrice(), updated.getMarkPrice());
+		Assert.assertEquals(marked.getMarkValue(), updated.getMarkValue());
+		Assert.assertEquals(marked.getMarkDate(), updated.getMarkDate());
+		// Not just the cached entity: the columns were left alone
+		Assert.assertEquals(marked.getMarkValue(), jdbcTemplate.queryForObject(
+				"select markValue from bidlist where BidListId = ?", Double.class, bid.getBidListId()));
+	}
+
+	@Test
+	public void runOverHttpTest() throws Exception {
+		curvePointRepository.save(new CurvePoint(1, 1d, 2d));
+		BidList bid = bidListRepository.save(bid("OPEN", "6M", 1.5d, null));
+		User admin = new User();
+		admin.setUsername("pricer");
+		admin.setPassword(passwordEncoder.encode("secret"));
+		admin.setFullname("Pricer");
+		admin.setRole("ADMIN");
+		userRepository.save(admin);
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).addFilters(springSecurityFilterChain).build();
+
+		// Accepted at once, the run goes on in the background; a script authenticating with curl -u needs no CSRF token
+		mockMvc.perform(post("/admin/pricing/run")
+				.header(HttpHeaders.AUTHORIZATION, "Basic "
+						+ Base64.getEncoder().encodeToString("pricer:secret".getBytes(StandardCharsets.UTF_8))))
+				.andExpect(status().isAccepted())
+				.andExpect(header().string(HttpHeaders.LOCATION, "/admin/pricing"))
+				.andExpect(jsonPath("$.curveId").value(1));
+		for (int i = 0; i < 100 && !bidPricingService.status().isFinished(); i++) {
+			Thread.sleep(100);
+		}
+		Assert.assertTrue(bidPricingService.status().isFinished());
+		Assert.assertNull(bidPricingService.status().getError());
+		Assert.assertEquals(2, bidListRepository.findById(bid.getBidListId()).get().getMarkPrice(), 0);
+
+		mockMvc.perform(post("/admin/pricing/run"))
+				.andExpect(status().isForbidden());
+	}
+
+	private BidList bid(String status, String benchmark, Double bid, Double ask) {
+		BidList bidList = new BidList("Account Pricing", "Type", 10d);
+		bidList.setStatus(status);
+		bidList.setBenchmark(benchmark);
+		bidList.setBid(bid);
+		bidList.setAsk(ask);
+		return bidList;
+	}
+}
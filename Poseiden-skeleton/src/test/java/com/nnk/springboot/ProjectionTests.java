@@ -0,0 +1,81 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.BidListRow;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.domain.UserSummary;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.services.BidListService;
+import com.nnk.springboot.services.KeysetPage;
+import com.nnk.springboot.services.ListFilter;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ProjectionTests {
+
+	@Autowired
+	private BidListService bidListService;
+
+	@Autowired
+	private BidListRepository bidListRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@After
+	public void cleanUp() {
+		bidListRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	public void listRowsTest() {
+		for (int i = 0; i < 3; i++) {
+			bidListRepository.save(new BidList("Account P" + i, "Type", (double) i));
+		}
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		long loads = statistics.getEntityLoadCount();
+
+		ListFilter filter = new ListFilter();
+		filter.setSort("account");
+		KeysetPage<BidListRow> sorted = bidListService.findPage(filter, null, 2);
+		KeysetPage<BidListRow> newest = bidListService.findPage(null, 10);
+
+		// Rows are built from the selected columns, no entity is loaded
+		Assert.assertEquals(loads, statistics.getEntityLoadCount());
+		Assert.assertEquals("Account P0", sorted.getContent().get(0).getAccount());
+		Assert.assertEquals(2, newest.getContent().get(0).getBidQuantity(), 0);
+		Assert.assertEquals("Type", newest.getContent().get(0).getType());
+	}
+
+	@Test
+	public void userSummaryTest() {
+		User user = new User();
+		user.setUsername("summary");
+		user.setPassword("hash");
+		user.setFullname("Summary User");
+		user.setRole("USER");
+		userRepository.save(user);
+
+		List<UserSummary> users = userRepository.findAllByOrderByIdAsc();
+		Assert.assertEquals(1, users.size());
+		Assert.assertEquals("summary", users.get(0).getUsername());
+		Assert.assertEquals("Summary User", users.get(0).getFullname());
+	}
+}
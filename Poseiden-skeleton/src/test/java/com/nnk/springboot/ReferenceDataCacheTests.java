@@ -0,0 +1,52 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.repositories.RatingRepository;
+import com.nnk.springboot.services.RatingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ReferenceDataCacheTests {
+
+	@Autowired
+	private RatingService ratingService;
+
+	@Autowired
+	private RatingRepository ratingRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@After
+	public void cleanUp() {
+		ratingRepository.deleteAll();
+	}
+
+	@Test
+	public void ratingCacheTest() {
+		ratingService.save(new Rating("Moodys Rating", "Sand PRating", "Fitch Rating", 10));
+		double hits = hits();
+
+		// Second read is served by the cache
+		Assert.assertEquals(1, ratingService.findAll().size());
+		Assert.assertEquals(1, ratingService.findAll().size());
+		Assert.assertEquals(hits + 1, hits(), 0);
+
+		// A write evicts the cached list
+		ratingService.save(new Rating("Moodys Rating 2", "Sand PRating 2", "Fitch Rating 2", 20));
+		Assert.assertEquals(2, ratingService.findAll().size());
+	}
+
+	private double hits() {
+		return meterRegistry.get("cache.gets").tag("cache", RatingService.CACHE).tag("result", "hit")
+				.functionCounter().count();
+	}
+}
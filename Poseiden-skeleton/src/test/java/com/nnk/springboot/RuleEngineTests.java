@@ -0,0 +1,135 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.services.CompiledRule;
+import com.nnk.springboot.services.RuleEngine;
+import com.nnk.springboot.services.RuleExpression;
+import com.nnk.springboot.services.RuleNameService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Collections;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class RuleEngineTests {
+
+	@Autowired
+	private RuleEngine ruleEngine;
+
+	@Autowired
+	private RuleNameService ruleNameService;
+
+	@Autowired
+	private RuleNameRepository ruleNameRepository;
+
+	@After
+	public void cleanUp() {
+		for (RuleName ruleName : ruleNameRepository.findAll()) {
+			ruleNameService.delete(ruleName.getId());
+		}
+	}
+
+	@Test
+	public void evaluateTest() {
+		RuleName rule = new RuleName("Large", "Large open bids", "", "", "",
+				"bidQuantity >= 100 AND (status IN ('OPEN', 'NEW') OR account LIKE 'ACC%') AND trader IS NULL");
+
+		BidList bid = new BidList("ACC 1", "Type", 150d);
+		Assert.assertTrue(ruleEngine.evaluate(rule, bid));
+		bid.setBidQuantity(99d);
+		Assert.assertFalse(ruleEngine.evaluate(rule, bid));
+		bid.setBidQuantity(null);
+		Assert.assertFalse(ruleEngine.evaluate(rule, bid));
+
+		Trade trade = new Trade("Trade Account", "Type");
+		trade.setBuyQuantity(10d);
+		trade.setSellQuantity(5d);
+		Assert.assertTrue(ruleEngine.evaluate(new RuleName("Net buy", "", "", "", "", "NOT buyQuantity <= sellQuantity"), trade));
+
+		try {
+			ruleEngine.validate("bidQuantity >");
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			Assert.assertTrue(e.getMessage().contains("position 14"));
+		}
+	}
+
+	@Test
+	public void negatedNullTest() {
+		BidList bid = new BidList(null, "Type", null);
+		// Negating a comparison with null is still unknown, which does not match
+		Assert.assertFalse(matches("NOT bidQuantity > 5", bid));
+		Assert.assertFalse(matches("account NOT LIKE 'X%'", bid));
+		Assert.assertFalse(matches("status NOT IN ('OPEN', 'NEW')", bid));
+		Assert.assertFalse(matches("bidQuantity NOT BETWEEN 1 AND 10", bid));
+		Assert.assertFalse(matches("NOT (bidQuantity > 5 OR type = 'Other')", bid));
+		// Unless the other side of AND or OR decides
+		Assert.assertTrue(matches("NOT bidQuantity > 5 OR account IS NULL", bid));
+		Assert.assertTrue(matches("NOT (bidQuantity > 5 AND type = 'Other')", bid));
+		Assert.assertTrue(matches("account IS NULL AND NOT bidQuantity IS NOT NULL", bid));
+
+		bid.setAccount("ACC 1");
+		bid.setBidQuantity(3d);
+		bid.setStatus("CLOSED");
+		Assert.assertTrue(matches("NOT bidQuantity > 5", bid));
+		Assert.assertTrue(matches("account NOT LIKE 'X%'", bid));
+		Assert.assertTrue(matches("status NOT IN ('OPEN', 'NEW')", bid));
+		Assert.assertTrue(matches("bidQuantity NOT BETWEEN 4 AND 10", bid));
+		// A null candidate makes a missed IN unknown, as in SQL
+		Assert.assertFalse(matches("status NOT IN ('OPEN', NULL)", bid));
+	}
+
+	@Test
+	public void incompatibleTypesTest() {
+		try {
+			ruleEngine.validate("account < bidQuantity");
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			Assert.assertTrue(e.getMessage(), e.getMessage().contains("Cannot compare account (String) with bidQuantity (Double)"));
+		}
+		try {
+			ruleEngine.validate("bidQuantity IN (askQuantity, status)");
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			Assert.assertTrue(e.getMessage(), e.getMessage().contains("Cannot compare"));
+		}
+
+		// Literals without a common order are unknown whichever way round
+		BidList bid = new BidList("ACC 1", "Type", 10d);
+		Assert.assertFalse(matches("'a' < 1", bid));
+		Assert.assertFalse(matches("'a' > 1", bid));
+		Assert.assertFalse(matches("NOT 'a' < 1", bid));
+		Assert.assertTrue(matches("bidQuantity < askQuantity OR askQuantity IS NULL", bid));
+	}
+
+	private static boolean matches(String expression, Object object) {
+		return RuleExpression.parse(expression).bind(object.getClass()).test(object);
+	}
+
+	@Test
+	public void recompileOnUpdateTest() {
+		RuleName rule = ruleNameService.save(new RuleName("Rule", "", "", "", "", "account = 'A'"));
+		CompiledRule compiled = ruleEngine.compile(rule);
+		Assert.assertSame(compiled, ruleEngine.compile(ruleNameService.findById(rule.getId())));
+
+		Trade trade = new Trade("A", "Type");
+		Assert.assertEquals(Collections.singletonList(rule.getId()), ruleEngine.matchingRuleIds(trade));
+
+		rule.setSqlPart("account = 'B'");
+		ruleNameService.save(rule);
+		Assert.assertNotSame(compiled, ruleEngine.compile(rule));
+		Assert.assertTrue(ruleEngine.matchingRuleIds(trade).isEmpty());
+
+		ruleNameService.delete(rule.getId());
+		Assert.assertTrue(ruleEngine.matchingRuleIds(new Trade("B", "Type")).isEmpty());
+	}
+}
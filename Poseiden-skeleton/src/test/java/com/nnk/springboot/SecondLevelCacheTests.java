@@ -0,0 +1,72 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.RatingRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class SecondLevelCacheTests {
+
+	@Autowired
+	private BidListRepository bidListRepository;
+
+	@Autowired
+	private RatingRepository ratingRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@Before
+	public void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@After
+	public void cleanUp() {
+		bidListRepository.deleteAll();
+		ratingRepository.deleteAll();
+	}
+
+	@Test
+	public void bidRepeatLoadTest() {
+		BidList bid = bidListRepository.save(new BidList("Account Test", "Type Test", 10d));
+		// Update form load, then the same entity again in another session
+		bidListRepository.findById(bid.getBidListId()).get();
+		statistics.clear();
+		Assert.assertEquals("Account Test", bidListRepository.findById(bid.getBidListId()).get().getAccount());
+		Assert.assertEquals(0, statistics.getPrepareStatementCount());
+		Assert.assertEquals(1, statistics.getSecondLevelCacheHitCount());
+
+		// Writes go through the cache
+		bid.setAccount("Account Update");
+		bidListRepository.save(bid);
+		statistics.clear();
+		Assert.assertEquals("Account Update", bidListRepository.findById(bid.getBidListId()).get().getAccount());
+	}
+
+	@Test
+	public void ratingRepeatLoadTest() {
+		Rating rating = ratingRepository.save(new Rating("Moodys Rating", "Sand PRating", "Fitch Rating", 10));
+		ratingRepository.findById(rating.getId()).get();
+		statistics.clear();
+		ratingRepository.findById(rating.getId()).get();
+		Assert.assertEquals(0, statistics.getPrepareStatementCount());
+		Assert.assertEquals(1, statistics.getSecondLevelCacheHitCount());
+	}
+}
@@ -0,0 +1,85 @@
+package com.nnk.springboot;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.nnk.springboot.config.SlowQueryDataSource;
+import com.nnk.springboot.config.SqlLoggingConfig;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.sql.DataSource;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class SlowQueryLogTests {
+
+	@Autowired
+	private DataSource dataSource;
+
+	private ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+	@Before
+	public void setUp() {
+		appender.start();
+		((Logger) LoggerFactory.getLogger(SlowQueryDataSource.class)).addAppender(appender);
+	}
+
+	@After
+	public void cleanUp() {
+		((Logger) LoggerFactory.getLogger(SlowQueryDataSource.class)).detachAppender(appender);
+	}
+
+	@Test
+	public void slowQueryTest() {
+		// The application's pool is wrapped, with the default threshold
+		Assert.assertTrue(dataSource instanceof SlowQueryDataSource);
+
+		// With a zero threshold every statement is slow
+		SlowQueryDataSource logged = new SlowQueryDataSource(dataSource, 0, 0, true);
+		new JdbcTemplate(logged).queryForList("select * from rating where moodysRating = ? and orderNumber = ?",
+				"Aaa", 10);
+
+		Assert.assertEquals(1, appender.list.size());
+		ILoggingEvent event = appender.list.get(0);
+		Assert.assertEquals(Level.WARN, event.getLevel());
+		Assert.assertTrue(event.getFormattedMessage(), event.getFormattedMessage().contains(
+				"at SlowQueryLogTests.slowQueryTest"));
+		Assert.assertTrue(event.getFormattedMessage(), event.getFormattedMessage().endsWith(
+				"select * from rating where moodysRating = ? and orderNumber = ? ['Aaa', 10]"));
+
+		// Below the threshold and unsampled, nothing is logged
+		new JdbcTemplate(new SlowQueryDataSource(dataSource, 60_000, 0, true)).queryForList("select * from rating");
+		Assert.assertEquals(1, appender.list.size());
+	}
+
+	@Test
+	public void parametersRedactedTest() {
+		// By default the values are counted, not logged
+		new JdbcTemplate(new SlowQueryDataSource(dataSource, 0, 0, false)).queryForList(
+				"select * from users where username = ? and password = ?", "admin", "$2a$10$hash");
+
+		String message = appender.list.stream().map(ILoggingEvent::getFormattedMessage)
+				.filter(logged -> logged.contains("from users")).findFirst().orElse("not logged");
+		Assert.assertTrue(message, message.endsWith(
+				"select * from users where username = ? and password = ? (2 parameters)"));
+		Assert.assertFalse(message, message.contains("hash"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void showSqlRejectedInProdTest() {
+		MockEnvironment environment = new MockEnvironment().withProperty("spring.jpa.show-sql", "true");
+		environment.setActiveProfiles("prod");
+		SqlLoggingConfig.slowQueryLogPostProcessor(environment);
+	}
+}
@@ -0,0 +1,95 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.config.TemplateConfig;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.CurvePointRow;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.services.CurvePointService;
+import com.nnk.springboot.services.ListFilter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "app.web.list-streaming.batch-size=2")
+public class TemplateTests {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private CurvePointRepository curvePointRepository;
+
+	@Autowired
+	private CurvePointService curvePointService;
+
+	private MockMvc mockMvc;
+
+	@Before
+	public void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+		for (int i = 0; i < 5; i++) {
+			curvePointRepository.save(new CurvePoint(10, (double) i, i * 10d));
+		}
+	}
+
+	@After
+	public void cleanUp() {
+		curvePointRepository.deleteAll();
+	}
+
+	@Test
+	public void streamedRowsTest() {
+		AtomicInteger batches = new AtomicInteger();
+		List<Double> terms = new ArrayList<>();
+		for (CurvePointRow row : curvePointService.findAll(new ListFilter(), 2, batches::incrementAndGet)) {
+			terms.add(row.getTerm());
+		}
+		Assert.assertEquals(5, terms.size());
+		Assert.assertEquals(0d, terms.get(0), 0);
+		Assert.assertEquals(4d, terms.get(4), 0);
+		// 2 + 2 + 1 rows, the short batch ends the iteration
+		Assert.assertEquals(3, batches.get());
+
+		// Other orders are read at once
+		ListFilter byTerm = new ListFilter();
+		byTerm.setSort("term");
+		byTerm.setDir("desc");
+		Assert.assertTrue(curvePointService.findAll(byTerm, 2, batches::incrementAndGet) instanceof List);
+	}
+
+	@Test
+	public void streamedListPageTest() throws Exception {
+		String page = mockMvc.perform(get("/curvePoint/list"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		// Head and navigation come from the shared fragments
+		Assert.assertTrue(page.contains("<title>Home</title>"));
+		Assert.assertTrue(page.contains("/app-logout"));
+		Assert.assertEquals(5, page.split("/curvePoint/update/").length - 1);
+		Assert.assertTrue(page.trim().endsWith("</html>"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void templateCacheRequiredInProdTest() {
+		MockEnvironment environment = new MockEnvironment().withProperty("spring.thymeleaf.cache", "false");
+		environment.setActiveProfiles("prod");
+		TemplateConfig.templateCacheCheck(environment);
+	}
+}
@@ -0,0 +1,75 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.controllers.UserController;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.repositories.UserRepository;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class UserAuthenticationTests {
+
+	@Autowired
+	private AuthenticationProvider authenticationProvider;
+
+	@Autowired
+	private UserCache userCache;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private UserController userController;
+
+	@After
+	public void cleanUp() {
+		userRepository.deleteAll();
+	}
+
+	@Test
+	public void cachedLoginTest() {
+		User user = new User();
+		user.setUsername("trader");
+		user.setPassword(passwordEncoder.encode("secret"));
+		user.setFullname("Trader");
+		user.setRole("USER");
+		user = userRepository.save(user);
+
+		// Login caches the user
+		Authentication authentication = authenticationProvider.authenticate(
+				new UsernamePasswordAuthenticationToken("trader", "secret"));
+		Assert.assertTrue(authentication.isAuthenticated());
+		Assert.assertNotNull(userCache.getUserFromCache("trader"));
+
+		// Second login is served from the cache and still checks the password
+		authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken("trader", "secret"));
+		Assert.assertNotNull(userCache.getUserFromCache("trader"));
+
+		// Updating the user through the controller invalidates the cached entry
+		User update = new User();
+		update.setUsername("trader");
+		update.setPassword("changed");
+		update.setFullname("Trader");
+		update.setRole("USER");
+		userController.updateUser(user.getId(), update, new BeanPropertyBindingResult(update, "user"),
+				new ExtendedModelMap());
+		Assert.assertNull(userCache.getUserFromCache("trader"));
+		authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken("trader", "changed"));
+	}
+}
@@ -0,0 +1,139 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.services.PositionService;
+import com.nnk.springboot.services.TradeService;
+import com.nnk.springboot.services.WriteBehindQueue;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.servlet.Filter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+		"app.write-behind.enabled=true",
+		"app.write-behind.batch-size=50",
+		"app.write-behind.journal=target/write-behind-test.journal"})
+public class WriteBehindTests {
+	private static final Path JOURNAL = Paths.get("target/write-behind-test.journal");
+
+	@Autowired
+	private TradeService tradeService;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@Autowired
+	private BidListRepository bidListRepository;
+
+	@Autowired
+	private PositionService positionService;
+
+	@Autowired
+	private WriteBehindQueue writeBehindQueue;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private Filter springSecurityFilterChain;
+
+	@BeforeClass
+	public static void writeJournal() throws Exception {
+		// Left behind by a crash: entry 1 was committed, entries 2 and 3 were not
+		Files.createDirectories(JOURNAL.getParent());
+		Files.write(JOURNAL, Arrays.asList(
+				"{\"seq\":1,\"type\":\"trade\",\"entity\":{\"account\":\"Committed\",\"type\":\"Type\"}}",
+				"{\"seq\":2,\"type\":\"trade\",\"entity\":{\"account\":\"Replayed\",\"type\":\"Type\",\"book\":\"Book WB\",\"buyQuantity\":5.0}}",
+				"{\"committed\":1}",
+				"{\"seq\":3,\"type\":\"bidList\",\"entity\":{\"account\":\"Replayed\",\"type\":\"Type\",\"bidQuantity\":7.0}}",
+				"{\"seq\":4,\"type\":\"tra"), StandardCharsets.UTF_8);
+	}
+
+	@After
+	public void cleanUp() {
+		tradeRepository.deleteAll();
+		bidListRepository.deleteAll();
+		userRepository.deleteAll();
+		positionService.rebuild();
+	}
+
+	@Test
+	public void writeBehindTest() throws Exception {
+		// Uncommitted journal entries are replayed on startup
+		Assert.assertTrue(writeBehindQueue.flush(30, TimeUnit.SECONDS));
+		List<String> accounts = tradeRepository.findAll().stream().map(Trade::getAccount).collect(Collectors.toList());
+		Assert.assertEquals(Arrays.asList("Replayed"), accounts);
+		Assert.assertEquals(1, bidListRepository.count());
+		Assert.assertEquals(5, positionService.bookPosition("Book WB").getBuyQuantity(), 1e-9);
+
+		for (int i = 0; i < 200; i++) {
+			Trade trade = new Trade("Account WB", "Type");
+			trade.setBook("Book WB");
+			trade.setBuyQuantity(1d);
+			tradeService.submit(trade);
+		}
+		Assert.assertTrue(writeBehindQueue.flush(30, TimeUnit.SECONDS));
+
+		Assert.assertEquals(201, tradeRepository.count());
+		Assert.assertEquals(205, positionService.bookPosition("Book WB").getBuyQuantity(), 1e-9);
+		Assert.assertEquals(0, writeBehindQueue.status().getDepth());
+		Assert.assertEquals(0, writeBehindQueue.status().getFailed());
+		// Nothing left to replay once everything is written
+		Assert.assertEquals(0, Files.size(JOURNAL));
+	}
+
+	@Test
+	public void flushOverHttpTest() throws Exception {
+		User admin = new User();
+		admin.setUsername("ops");
+		admin.setPassword(passwordEncoder.encode("secret"));
+		admin.setFullname("Ops");
+		admin.setRole("ADMIN");
+		userRepository.save(admin);
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).addFilters(springSecurityFilterChain).build();
+
+		// A script authenticating with curl -u needs no CSRF token
+		mockMvc.perform(post("/admin/write-behind/flush").param("timeoutSeconds", "30")
+				.header(HttpHeaders.AUTHORIZATION, "Basic "
+						+ Base64.getEncoder().encodeToString("ops:secret".getBytes(StandardCharsets.UTF_8))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.depth").value(0));
+		mockMvc.perform(post("/admin/write-behind/flush"))
+				.andExpect(status().isForbidden());
+	}
+}
@@ -0,0 +1,107 @@
+package com.nnk.springboot;
+
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.services.CurvePointService;
+import com.nnk.springboot.services.Interpolation;
+import com.nnk.springboot.services.YieldCurve;
+import com.nnk.springboot.services.YieldCurveService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.sql.Timestamp;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class YieldCurveTests {
+
+	@Autowired
+	private CurvePointService curvePointService;
+
+	@Autowired
+	private CurvePointRepository curvePointRepository;
+
+	@Autowired
+	private YieldCurveService yieldCurveService;
+
+	@After
+	public void cleanUp() {
+		curvePointRepository.deleteAll();
+		yieldCurveService.reload();
+	}
+
+	@Test
+	public void interpolationTest() {
+		YieldCurve curve = new YieldCurve(1, new double[]{0, 1, 2}, new double[]{0, 1, 0});
+
+		Assert.assertEquals(0.5, curve.linear(0.5), 1e-12);
+		Assert.assertEquals(1, curve.linear(1), 1e-12);
+		// Natural spline through (0,0) (1,1) (2,0) has a second derivative of -3 at the middle knot
+		Assert.assertEquals(0.6875, curve.cubicSpline(0.5), 1e-12);
+		Assert.assertEquals(0.6875, curve.interpolate(1.5, Interpolation.CUBIC_SPLINE), 1e-12);
+
+		// Flat outside the curve
+		Assert.assertEquals(0, curve.linear(-1), 0);
+		Assert.assertEquals(0, curve.cubicSpline(5), 0);
+	}
+
+	@Test
+	public void incrementalRebuildTest() {
+		CurvePoint first = curvePointService.save(new CurvePoint(10, 1d, 1d));
+		curvePointService.save(new CurvePoint(10, 3d, 3d));
+		YieldCurve curve = yieldCurveService.getCurve(10);
+		Assert.assertEquals(2, curve.size());
+		Assert.assertEquals(2, curve.linear(2), 1e-12);
+
+		// Add
+		curvePointService.save(new CurvePoint(10, 2d, 5d));
+		Assert.assertEquals(5, yieldCurveService.interpolate(10, 2, Interpolation.LINEAR), 1e-12);
+		// Curves handed out earlier are left untouched
+		Assert.assertEquals(2, curve.size());
+
+		// Update, moving the point to another curve
+		first.setCurveId(11);
+		curvePointService.save(first);
+		Assert.assertEquals(2, yieldCurveService.getCurve(10).size());
+		Assert.assertEquals(1, yieldCurveService.getCurve(11).size());
+
+		// Delete
+		curvePointService.delete(first.getId());
+		Assert.assertEquals(0, yieldCurveService.getCurve(11).size());
+	}
+
+	@Test
+	public void latestDateOnlyTest() {
+		Timestamp yesterday = Timestamp.valueOf("2026-10-16 18:00:00");
+		Timestamp today = Timestamp.valueOf("2026-10-17 18:00:00");
+		curvePointService.save(point(20, yesterday, 1d, 1d));
+		curvePointService.save(point(20, yesterday, 2d, 2d));
+		curvePointService.save(point(20, yesterday, 5d, 9d));
+		curvePointService.save(point(20, today, 1d, 1.5d));
+		CurvePoint twoYears = curvePointService.save(point(20, today, 2d, 2.5d));
+
+		// The 5 year term was dropped today: the curve stops at 2 years instead of keeping yesterday's 9
+		YieldCurve curve = yieldCurveService.getCurve(20);
+		Assert.assertEquals(2, curve.size());
+		Assert.assertEquals(2.5, curve.linear(5), 1e-12);
+		yieldCurveService.reload();
+		Assert.assertEquals(2.5, yieldCurveService.interpolate(20, 5, Interpolation.LINEAR), 1e-12);
+
+		// Deleting today's points falls back to yesterday's curve
+		curvePointService.delete(twoYears.getId());
+		Assert.assertEquals(1, yieldCurveService.getCurve(20).size());
+		curvePointRepository.findByCurveIdAndAsOfDate(20, today).forEach(p -> curvePointService.delete(p.getId()));
+		Assert.assertEquals(9, yieldCurveService.interpolate(20, 5, Interpolation.LINEAR), 1e-12);
+	}
+
+	private static CurvePoint point(int curveId, Timestamp asOfDate, double term, double value) {
+		CurvePoint point = new CurvePoint(curveId, term, value);
+		point.setAsOfDate(asOfDate);
+		return point;
+	}
+}